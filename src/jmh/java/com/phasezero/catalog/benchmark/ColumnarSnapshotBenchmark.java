@@ -0,0 +1,60 @@
+package com.phasezero.catalog.benchmark;
+
+import com.phasezero.catalog.index.ColumnarSnapshot;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report latency over the in-memory columns, independent of the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ColumnarSnapshotBenchmark {
+
+    @Param({"100000", "1000000", "5000000"})
+    private int products;
+
+    private ColumnarSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        snapshot = new ColumnarSnapshot();
+        Random random = new Random(42);
+        for (int i = 1; i <= products; i++) {
+            Product product = ProductMapper.toEntity(SyntheticCatalog.request(random, i));
+            product.setId((long) i);
+            snapshot.index(product);
+        }
+        snapshot.markReady();
+    }
+
+    @Benchmark
+    public List<ColumnarSnapshot.CategoryStats> categoryStats() {
+        return snapshot.categoryStats();
+    }
+
+    @Benchmark
+    public ColumnarSnapshot.PriceHistogram priceHistogram() {
+        return snapshot.priceHistogram(null, 20);
+    }
+}
@@ -0,0 +1,56 @@
+package com.phasezero.catalog.benchmark;
+
+import com.phasezero.catalog.dto.ProductRequest;
+import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private ProductRequest request;
+    private Product product;
+    private String rawName;
+
+    @Setup
+    public void setup() {
+        request = SyntheticCatalog.request(new Random(42), 1);
+        product = ProductMapper.toEntity(request);
+        product.setId(1L);
+        rawName = "  " + request.partName().toUpperCase() + "  ";
+    }
+
+    @Benchmark
+    public Product toEntity() {
+        return ProductMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return ProductMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public String normalizeName() {
+        return StringUtil.normalizeName(rawName);
+    }
+}
@@ -0,0 +1,115 @@
+package com.phasezero.catalog.benchmark;
+
+import com.phasezero.catalog.PhasezeroCatalogServiceApplication;
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.dto.CursorPage;
+import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.service.ProductService;
+import com.phasezero.catalog.util.CursorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against an embedded H2 catalog. Caches are emptied before every
+ * invocation, so these numbers are the cost of a cache miss.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private CatalogCaches catalogCaches;
+    private String deepPriceCursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(PhasezeroCatalogServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // command-line arguments, since default properties lose to application.yaml
+                .run("--spring.datasource.url=jdbc:h2:mem:bench" + catalogSize + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.phasezero.catalog=WARN",
+                        "--catalog.index.rebuild-on-startup=false");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        SyntheticCatalog.seed(jdbcTemplate, catalogSize);
+        context.getBean(CatalogIndexManager.class).rebuild();
+
+        productService = context.getBean(ProductService.class);
+        catalogCaches = context.getBean(CatalogCaches.class);
+
+        // cursor roughly 90% into the price order
+        deepPriceCursor = jdbcTemplate.queryForObject(
+                "select price, id from products order by price, id offset ? rows fetch next 1 rows only",
+                (rs, row) -> CursorUtil.encodePrice(rs.getDouble("price"), rs.getLong("id")),
+                catalogSize * 9 / 10);
+    }
+
+    @Setup(Level.Invocation)
+    public void evictCaches() {
+        catalogCaches.evictAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchByNameSelective() {
+        return productService.searchByName("pad 4242");
+    }
+
+    @Benchmark
+    public List<ProductResponse> searchByNameBroad() {
+        return productService.searchByName("stainless valve");
+    }
+
+    @Benchmark
+    public List<ProductResponse> filterByCategory() {
+        return productService.filterByCategory(SyntheticCatalog.category(7));
+    }
+
+    @Benchmark
+    public CursorPage<ProductResponse> sortByPriceFirstPage() {
+        return productService.sortByPriceAscending(null, 20);
+    }
+
+    @Benchmark
+    public CursorPage<ProductResponse> sortByPriceDeepPage() {
+        return productService.sortByPriceAscending(deepPriceCursor, 20);
+    }
+
+    @Benchmark
+    public double getTotalInventoryValue() {
+        return productService.getTotalInventoryValue();
+    }
+}
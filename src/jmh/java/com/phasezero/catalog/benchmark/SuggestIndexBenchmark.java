@@ -0,0 +1,66 @@
+package com.phasezero.catalog.benchmark;
+
+import com.phasezero.catalog.index.SuggestIndex;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keystroke latency of the suggest trie: a one-letter prefix matching a large part of the catalog,
+ * a word prefix and a part number prefix, each asking for the top 10.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SuggestIndexBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private SuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        index = new SuggestIndex();
+        Random random = new Random(42);
+        for (int i = 1; i <= products; i++) {
+            Product product = ProductMapper.toEntity(SyntheticCatalog.request(random, i));
+            product.setId((long) i);
+            index.index(product);
+        }
+        index.markReady();
+    }
+
+    @Benchmark
+    public List<SuggestIndex.Suggestion> singleLetter() {
+        return index.suggest("h", 10);
+    }
+
+    @Benchmark
+    public List<SuggestIndex.Suggestion> word() {
+        return index.suggest("hex b", 10);
+    }
+
+    @Benchmark
+    public List<SuggestIndex.Suggestion> partNumber() {
+        return index.suggest("pn-4711", 10);
+    }
+}
@@ -0,0 +1,78 @@
+package com.phasezero.catalog.benchmark;
+
+import com.phasezero.catalog.dto.ProductRequest;
+import com.phasezero.catalog.dto.ProductResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic products shared by the benchmarks.
+ */
+final class SyntheticCatalog {
+
+    static final String[] ADJECTIVES = {
+            "hydraulic", "pneumatic", "heavy duty", "stainless", "sealed", "compact", "high pressure", "coated"
+    };
+    static final String[] NOUNS = {
+            "filter", "brake pad", "oil seal", "hex bolt", "bearing", "gasket", "valve", "hose clamp", "pump", "relay"
+    };
+    static final int CATEGORIES = 50;
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private SyntheticCatalog() {}
+
+    static String category(int index) {
+        return "category-" + (index % CATEGORIES);
+    }
+
+    static ProductRequest request(Random random, int index) {
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + index;
+        return new ProductRequest(
+                "PN-" + index,
+                name,
+                category(random.nextInt(CATEGORIES)),
+                Math.round(random.nextDouble() * 100_000) / 100.0,
+                random.nextInt(500)
+        );
+    }
+
+    static List<ProductResponse> responses(int count) {
+        Random random = new Random(42);
+        List<ProductResponse> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ProductRequest request = request(random, i);
+            list.add(new ProductResponse((long) i + 1, request.partNumber(), request.partName(),
+                    request.category(), request.price(), request.stock()));
+        }
+        return list;
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "insert into products (id, part_number, part_name, category, price, stock, created_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            ProductRequest request = request(random, i);
+            batch.add(new Object[]{(long) i + 1, request.partNumber(), request.partName(),
+                    request.category(), request.price(), request.stock(), now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("alter sequence product_seq restart with " + (count + 1));
+    }
+}
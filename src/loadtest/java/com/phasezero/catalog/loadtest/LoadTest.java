@@ -0,0 +1,291 @@
+package com.phasezero.catalog.loadtest;
+
+import com.phasezero.catalog.PhasezeroCatalogServiceApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the service on a random port (or targets {@code baseUrl}), seeds a synthetic catalog
+ * through the bulk import endpoint and drives a weighted mix of requests, reporting throughput
+ * and latency percentiles per operation. Settings are {@code key=value} arguments:
+ * <pre>
+ *   catalogSize=10000  warmup=10s  duration=30s  concurrency=32
+ *   rate=0             (requests/s across all workers; 0 = closed loop)
+ *   mix=create=5,list=15,search=25,category=20,sorted=20,inventory=15
+ *   output=target/loadtest  baseUrl=http://host:port (skips boot and seeding)
+ *   serverThreads=platform|virtual  (request handling on the booted service)
+ *   clientThreads=platform|virtual  (virtual workers make 1k-10k clients cheap)
+ * </pre>
+ * Arguments starting with {@code --} are passed on to the booted service, e.g.
+ * {@code --catalog.bulkheads.scan.queue-capacity=20000}.
+ * With a fixed rate, latency is measured from each request's intended start time so a stalled
+ * server is not hidden by the generator backing off (coordinated omission).
+ */
+public final class LoadTest {
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private final Map<String, String> settings;
+    private final List<String> serverArgs;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile boolean running = true;
+
+    private LoadTest(Map<String, String> settings, List<String> serverArgs) {
+        this.settings = settings;
+        this.serverArgs = serverArgs;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("catalogSize", "10000");
+        settings.put("warmup", "10s");
+        settings.put("duration", "30s");
+        settings.put("concurrency", "32");
+        settings.put("rate", "0");
+        settings.put("mix", "create=5,list=15,search=25,category=20,sorted=20,inventory=15");
+        settings.put("output", "target/loadtest");
+        settings.put("serverThreads", "platform");
+        settings.put("clientThreads", "platform");
+        List<String> serverArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                serverArgs.add(arg);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("expected key=value but got '" + arg + "'");
+            }
+            settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        new LoadTest(settings, serverArgs).run();
+    }
+
+    private void run() throws Exception {
+        System.out.println("Load test settings: " + settings + (serverArgs.isEmpty() ? "" : " " + serverArgs));
+        int catalogSize = Integer.parseInt(settings.get("catalogSize"));
+        SyntheticData data = new SyntheticData(catalogSize);
+
+        ConfigurableApplicationContext context = null;
+        URI base;
+        if (settings.containsKey("baseUrl")) {
+            base = URI.create(settings.get("baseUrl"));
+        } else {
+            // command-line arguments, since default properties lose to application.yaml
+            List<String> args = new ArrayList<>(List.of("--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.phasezero.catalog=WARN",
+                    "--spring.threads.virtual.enabled=" + isVirtual("serverThreads")));
+            args.addAll(serverArgs);
+            context = new SpringApplicationBuilder(PhasezeroCatalogServiceApplication.class)
+                    .run(args.toArray(new String[0]));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            base = URI.create("http://localhost:" + port);
+            seed(base, data, catalogSize);
+        }
+
+        try {
+            drive(base, data);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private void seed(URI base, SyntheticData data, int catalogSize) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        for (int from = 0; from < catalogSize; from += SEED_CHUNK) {
+            int to = Math.min(catalogSize, from + SEED_CHUNK);
+            HttpRequest request = HttpRequest.newBuilder(base.resolve("/products/bulk"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(data.seedNdjson(from, to)))
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("seeding failed with status " + response.statusCode());
+            }
+        }
+        System.out.printf(Locale.ROOT, "Seeded %d products in %d ms%n",
+                catalogSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void drive(URI base, SyntheticData data) throws Exception {
+        Operation[] mix = parseMix(settings.get("mix"));
+        int concurrency = Integer.parseInt(settings.get("concurrency"));
+        double rate = Double.parseDouble(settings.get("rate"));
+        Duration warmup = DurationStyle.detectAndParse(settings.get("warmup"));
+        Duration duration = DurationStyle.detectAndParse(settings.get("duration"));
+        long intervalNanos = rate > 0 ? (long) (concurrency * 1_000_000_000L / rate) : 0;
+
+        ExecutorService workers = isVirtual("clientThreads")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> work(base, data, mix, intervalNanos));
+        }
+
+        Thread.sleep(warmup.toMillis());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+        long measureStart = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        // errors are read in the same instant, not after the workers have drained
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, recorders.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).sum());
+        }
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+
+        report(histograms, errorCounts, seconds);
+    }
+
+    private void work(URI base, SyntheticData data, Operation[] mix, long intervalNanos) {
+        long intended = System.nanoTime();
+        while (running) {
+            if (intervalNanos > 0) {
+                intended += intervalNanos;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+
+            Operation operation = Operation.pick(mix);
+            try {
+                HttpResponse<Void> response = client.send(operation.request(base, data),
+                        HttpResponse.BodyHandlers.discarding());
+                if (!operation.isSuccess(response.statusCode())) {
+                    errors.get(operation).increment();
+                }
+            } catch (IOException e) {
+                errors.get(operation).increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+        }
+    }
+
+    private void report(Map<Operation, Histogram> histograms, Map<Operation, Long> errorCounts, double seconds) throws IOException {
+        Path output = Path.of(settings.get("output"));
+        Files.createDirectories(output);
+
+        String header = String.format(Locale.ROOT, "%-10s %9s %9s %9s %9s %9s %9s %9s %7s",
+                "operation", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        try (PrintStream log = new PrintStream(Files.newOutputStream(output.resolve("loadtest.hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = histograms.get(operation);
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                long operationErrors = errorCounts.get(operation);
+                lines.add(row(operation.key(), histogram, seconds, operationErrors));
+                total.add(histogram);
+                totalErrors += operationErrors;
+
+                histogram.setTag(operation.key());
+                writer.outputIntervalHistogram(histogram);
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(output.resolve(operation.key() + ".hgrm")))) {
+                    // microseconds recorded, milliseconds reported
+                    histogram.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+        }
+        lines.add(row("total", total, seconds, totalErrors));
+
+        lines.forEach(System.out::println);
+        Files.write(output.resolve("summary.txt"), lines);
+        System.out.println("Histograms written to " + output.toAbsolutePath());
+    }
+
+    private static String row(String name, Histogram histogram, double seconds, long errors) {
+        return String.format(Locale.ROOT, "%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                errors);
+    }
+
+    private boolean isVirtual(String key) {
+        String threads = settings.get(key);
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException(key + " must be platform or virtual but was '" + threads + "'");
+        }
+        return threads.equals("virtual");
+    }
+
+    // expands "search=3,list=1" into a table with one slot per unit of weight
+    private static Operation[] parseMix(String mix) {
+        List<Operation> slots = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            Operation operation = Operation.fromKey(parts[0]);
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("mix must name at least one operation");
+        }
+        return slots.toArray(new Operation[0]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.phasezero.catalog.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request types the load test mixes, named as they appear in the {@code mix} setting.
+ */
+enum Operation {
+
+    CREATE("create") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            String body = data.productJson("LT-" + CREATED.incrementAndGet());
+            return HttpRequest.newBuilder(base.resolve("/products"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    LIST("list") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            return get(base, "/products?size=20");
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            return get(base, "/products/search?name=" + encode(data.randomSearchTerm()));
+        }
+    },
+    CATEGORY("category") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            return get(base, "/products/by-category?category=" + encode(data.randomCategory()));
+        }
+    },
+    SORTED("sorted") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            return get(base, "/products/sorted-by-price?size=20");
+        }
+    },
+    INVENTORY("inventory") {
+        @Override
+        HttpRequest request(URI base, SyntheticData data) {
+            return get(base, "/products/inventory/value");
+        }
+    };
+
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(URI base, SyntheticData data);
+
+    /**
+     * 404 is a valid answer for a search with no match; anything else outside 2xx is an error.
+     */
+    boolean isSuccess(int status) {
+        return (status >= 200 && status < 300) || (this == SEARCH && status == 404);
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation '" + key + "'");
+    }
+
+    static Operation pick(Operation[] weighted) {
+        return weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.phasezero.catalog.loadtest;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deterministic product data for seeding, and request parameters drawn from the same vocabulary
+ * so reads hit products that exist.
+ */
+final class SyntheticData {
+
+    private static final String[] ADJECTIVES = {
+            "hydraulic", "pneumatic", "heavy duty", "stainless", "sealed", "compact", "high pressure", "coated"
+    };
+    private static final String[] NOUNS = {
+            "filter", "brake pad", "oil seal", "hex bolt", "bearing", "gasket", "valve", "hose clamp", "pump", "relay"
+    };
+    private static final int CATEGORIES = 50;
+
+    private final int catalogSize;
+
+    SyntheticData(int catalogSize) {
+        this.catalogSize = catalogSize;
+    }
+
+    /**
+     * One NDJSON line per product, generated from a fixed seed.
+     */
+    String seedNdjson(int from, int to) {
+        Random random = new Random(42L + from);
+        StringBuilder ndjson = new StringBuilder((to - from) * 120);
+        for (int i = from; i < to; i++) {
+            ndjson.append(product(random, "PN-" + i, i)).append('\n');
+        }
+        return ndjson.toString();
+    }
+
+    String productJson(String partNumber) {
+        return product(ThreadLocalRandom.current(), partNumber, catalogSize);
+    }
+
+    String randomSearchTerm() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // half broad (one noun), half selective (noun plus an index prefix)
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        return random.nextBoolean() ? noun : noun + " " + random.nextInt(Math.max(1, catalogSize / 100));
+    }
+
+    String randomCategory() {
+        return category(ThreadLocalRandom.current().nextInt(CATEGORIES));
+    }
+
+    private static String product(Random random, String partNumber, int index) {
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + NOUNS[random.nextInt(NOUNS.length)] + " " + index;
+        double price = Math.round(random.nextDouble() * 100_000) / 100.0;
+        return "{\"partNumber\":\"" + partNumber + "\",\"partName\":\"" + name + "\",\"category\":\""
+                + category(random.nextInt(CATEGORIES)) + "\",\"price\":" + price + ",\"stock\":"
+                + random.nextInt(500) + "}";
+    }
+
+    private static String category(int index) {
+        return "category-" + index;
+    }
+}
@@ -4,7 +4,11 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @OpenAPIDefinition(
 		info = @Info(
@@ -14,12 +18,18 @@ import org.springframework.cache.annotation.EnableCaching;
 		)
 )
 @SpringBootApplication
-@EnableCaching
+@ConfigurationPropertiesScan
+// outside the transaction advice, so cache hits never open a read-only transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 public class PhasezeroCatalogServiceApplication {
 
 	public static void main(String[] args) {
 
-		SpringApplication.run(PhasezeroCatalogServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(PhasezeroCatalogServiceApplication.class);
+		// keeps the startup steps for the per-phase startup log and /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(2048));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,155 @@
+package com.phasezero.catalog.bulkhead;
+
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.exception.BulkheadFullException;
+import com.phasezero.catalog.metrics.QueryCountInspector;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most {@code threads} tasks of one endpoint class at a time with up to
+ * {@code queueCapacity} more waiting. Past that new work is refused immediately, so a burst on one
+ * class cannot hold servlet threads that the other classes need.
+ * <p>
+ * With platform threads the bulkhead is a fixed pool. With virtual threads every task gets its
+ * own thread and a semaphore limits how many run at once; waiting tasks are parked virtual
+ * threads.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int threads;
+    private final int queueCapacity;
+    private final Duration retryAfter;
+    private final ExecutorService executor;
+    // permits for running plus waiting tasks; an empty semaphore means the queue is full
+    private final Semaphore admission;
+    // only in virtual mode, where the executor itself does not bound concurrency
+    private final Semaphore running;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration retryAfter) {
+        this(name, threads, queueCapacity, retryAfter, new CatalogThreads(false));
+    }
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration retryAfter, CatalogThreads catalogThreads) {
+        if (threads < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("bulkhead '" + name + "' needs at least one thread and a queue capacity >= 0");
+        }
+        this.name = name;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.retryAfter = retryAfter;
+        this.admission = new Semaphore(threads + queueCapacity);
+        ThreadFactory threadFactory = catalogThreads.factory("bulkhead-" + name);
+        if (catalogThreads.isVirtual()) {
+            this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+            this.running = new Semaphore(threads, true);
+        } else {
+            // admission bounds the queue, so the pool's own queue never refuses work
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            this.running = null;
+        }
+    }
+
+    /**
+     * Runs {@code task} on this bulkhead. The returned future completes with the task's result or
+     * the exception it threw.
+     *
+     * @throws BulkheadFullException if every thread is busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (!admission.tryAcquire()) {
+            rejected.increment();
+            throw new BulkheadFullException(name, retryAfter);
+        }
+        // statements run for the request are counted wherever they execute
+        int[] queryCount = QueryCountInspector.current();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(task, future, queryCount));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            admission.release();
+            rejected.increment();
+            throw new BulkheadFullException(name, retryAfter);
+        }
+        return future;
+    }
+
+    private <T> void run(Supplier<T> task, CompletableFuture<T> future, int[] queryCount) {
+        try {
+            if (running != null) {
+                running.acquireUninterruptibly();
+            }
+            active.incrementAndGet();
+            QueryCountInspector.attach(queryCount);
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                QueryCountInspector.detach();
+                active.decrementAndGet();
+                if (running != null) {
+                    running.release();
+                }
+            }
+        } finally {
+            completed.increment();
+            admission.release();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int queued() {
+        return Math.max(0, threads + queueCapacity - admission.availablePermits() - active.get());
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    public int active() {
+        return active.get();
+    }
+
+    public long completed() {
+        return completed.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stops taking work and waits briefly for queued requests to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
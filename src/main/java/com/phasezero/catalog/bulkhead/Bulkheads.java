@@ -0,0 +1,45 @@
+package com.phasezero.catalog.bulkhead;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The bulkheads read endpoints run on: {@code scan} for searches and full listings whose cost
+ * grows with the catalog, {@code point} for single-product lookups, pages and aggregates.
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead scan;
+    private final Bulkhead point;
+
+    public Bulkheads(CatalogProperties properties, CatalogThreads catalogThreads) {
+        this.scan = create("scan", properties.getBulkheads().getScan(), catalogThreads);
+        this.point = create("point", properties.getBulkheads().getPoint(), catalogThreads);
+    }
+
+    public Bulkhead scan() {
+        return scan;
+    }
+
+    public Bulkhead point() {
+        return point;
+    }
+
+    public List<Bulkhead> all() {
+        return List.of(scan, point);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        all().forEach(Bulkhead::shutdown);
+    }
+
+    private static Bulkhead create(String name, CatalogProperties.BulkheadSpec spec, CatalogThreads catalogThreads) {
+        return new Bulkhead(name, spec.getThreads(), spec.getQueueCapacity(), spec.getRetryAfter(), catalogThreads);
+    }
+}
@@ -0,0 +1,83 @@
+package com.phasezero.catalog.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of cache misses: concurrent callers asking for the same key share
+ * one in-flight computation instead of each querying the repository.
+ */
+@Component
+public class CacheMissCoalescer {
+
+    private final Map<Flight, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String cacheName, Object key, Supplier<T> computation) {
+        Flight flight = new Flight(cacheName, key);
+        Stats cacheStats = stats(cacheName);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flight, mine);
+        if (leader != null) {
+            cacheStats.collapsed.increment();
+            return (T) await(leader);
+        }
+
+        cacheStats.executions.increment();
+        try {
+            T value = computation.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, mine);
+        }
+    }
+
+    public Map<String, Stats> getStats() {
+        return stats;
+    }
+
+    public Stats stats(String cacheName) {
+        return stats.computeIfAbsent(cacheName, name -> new Stats());
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Flight(String cacheName, Object key) {}
+
+    public static final class Stats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+
+        public long executions() {
+            return executions.sum();
+        }
+
+        public long collapsed() {
+            return collapsed.sum();
+        }
+    }
+}
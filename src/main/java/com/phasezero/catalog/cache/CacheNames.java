@@ -0,0 +1,13 @@
+package com.phasezero.catalog.cache;
+
+public final class CacheNames {
+
+    public static final String SORTED_BY_PRICE = "sortedByPrice";
+    public static final String PRODUCTS_BY_NAME = "productsByName";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+
+    // not cached, but coalesced while the inventory aggregates are still building
+    public static final String INVENTORY_VALUE = "inventoryValue";
+
+    private CacheNames() {}
+}
@@ -0,0 +1,158 @@
+package com.phasezero.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.CursorPage;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.util.StringUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Owns the Caffeine-backed cache manager and the write-side invalidation rules for the
+ * catalog read caches.
+ */
+@Slf4j
+@Component
+public class CatalogCaches {
+
+    private static final List<String> CATALOG_CACHES = List.of(
+            CacheNames.SORTED_BY_PRICE, CacheNames.PRODUCTS_BY_NAME, CacheNames.PRODUCTS_BY_CATEGORY);
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    private final Map<String, Function<Object, Object>> refreshers = new ConcurrentHashMap<>();
+
+    public CatalogCaches(CatalogProperties properties, CatalogThreads catalogThreads) {
+        CatalogProperties.Cache settings = properties.getCache();
+        cacheManager.setCaffeine(builder(settings.getDefaults()));
+        // refreshes query the database; in virtual mode they block a virtual thread, not the common pool
+        Executor refreshExecutor = catalogThreads.perTaskExecutor("cache-refresh");
+
+        for (String name : CATALOG_CACHES) {
+            CatalogProperties.CacheSpec spec = settings.getSpecs().getOrDefault(name, settings.getDefaults());
+            Caffeine<Object, Object> builder = builder(spec);
+            if (spec.getRefreshAfterWrite() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                if (refreshExecutor != null) {
+                    builder.executor(refreshExecutor);
+                }
+                cacheManager.registerCustomCache(name, builder.build(new RefreshingLoader(name)));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        }
+    }
+
+    public CaffeineCacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    /**
+     * Registers how entries of {@code cacheName} are recomputed when refreshed ahead of expiry.
+     * The function must bypass the cache itself.
+     */
+    public void registerRefresher(String cacheName, Function<Object, Object> refresher) {
+        refreshers.put(cacheName, refresher);
+    }
+
+    /**
+     * Evicts only the entries a newly saved product can change.
+     */
+    public void productSaved(Product product) {
+        // a new price can shift every page after it
+        clear(CacheNames.SORTED_BY_PRICE);
+
+        evict(CacheNames.PRODUCTS_BY_CATEGORY, StringUtil.normalizeName(product.getCategory()));
+
+        String partName = StringUtil.normalizeName(product.getPartName());
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> byName = nativeCache(CacheNames.PRODUCTS_BY_NAME);
+        if (byName != null) {
+            byName.asMap().keySet().removeIf(key -> partName.contains((String) key));
+        }
+    }
+
+    public void evictAll() {
+        CATALOG_CACHES.forEach(this::clear);
+    }
+
+    public Collection<String> getCacheNames() {
+        return cacheManager.getCacheNames();
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String name, Object key) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        return cache instanceof CaffeineCache caffeine ? caffeine.getNativeCache() : null;
+    }
+
+    private static Caffeine<Object, Object> builder(CatalogProperties.CacheSpec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaximumWeight())
+                .weigher((Object key, Object value) -> weigh(value))
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof Collection<?> items) {
+            return items.size() + 1;
+        }
+        if (value instanceof CursorPage<?> page) {
+            return page.items().size() + 1;
+        }
+        return 1;
+    }
+
+    // misses are computed by the @Cacheable method itself; only refreshes go through the loader
+    private final class RefreshingLoader implements CacheLoader<Object, Object> {
+
+        private final String cacheName;
+
+        private RefreshingLoader(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        @Override
+        public Object load(Object key) {
+            return null;
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) {
+            Function<Object, Object> refresher = refreshers.get(cacheName);
+            if (refresher == null) {
+                return null;
+            }
+            log.debug("Refreshing {} entry for key={}", cacheName, key);
+            return refresher.apply(key);
+        }
+    }
+}
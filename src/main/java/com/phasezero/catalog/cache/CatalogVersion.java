@@ -0,0 +1,39 @@
+package com.phasezero.catalog.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the catalog contents, bumped after every committed write. Read endpoints
+ * derive their ETags from it, so a matching If-None-Match can be answered before any data is read.
+ */
+@Component
+public class CatalogVersion {
+
+    // distinguishes versions of different runs, since the counter restarts with the process
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Called after a write is committed and the read caches have been invalidated.
+     */
+    public long bump() {
+        return version.incrementAndGet();
+    }
+
+    /**
+     * Strong ETag for the current version. Read it before the data it describes.
+     */
+    public String etag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+}
@@ -0,0 +1,132 @@
+package com.phasezero.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of single products, reachable by id and by partNumber, plus a
+ * short-lived record of lookups that found nothing so repeated misses stay off the database.
+ * Entries expire a fixed time after they were loaded, however often they are read, so one left
+ * stale by a read racing a write's eviction is bounded by {@code expire-after-write}.
+ */
+@Component
+public class ProductNearCache {
+
+    private final Cache<Long, ProductResponse> byId;
+    private final Cache<String, ProductResponse> byPartNumber;
+    private final Cache<Long, Boolean> missingIds;
+    private final Cache<String, Boolean> missingPartNumbers;
+
+    public ProductNearCache(CatalogProperties properties) {
+        CatalogProperties.NearCache settings = properties.getNearCache();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.byPartNumber = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.missingIds = Caffeine.newBuilder()
+                .maximumSize(settings.getNegativeMaximumSize())
+                .expireAfterWrite(settings.getNegativeTtl())
+                .recordStats()
+                .build();
+        this.missingPartNumbers = Caffeine.newBuilder()
+                .maximumSize(settings.getNegativeMaximumSize())
+                .expireAfterWrite(settings.getNegativeTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached product or loads it with {@code loader}; concurrent misses for the same
+     * id share one load.
+     */
+    public Optional<ProductResponse> getById(Long id, Function<Long, Optional<Product>> loader) {
+        if (missingIds.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        ProductResponse response = byId.get(id, key -> load(loader.apply(key)));
+        if (response == null) {
+            missingIds.put(id, Boolean.TRUE);
+            return Optional.empty();
+        }
+        byPartNumber.put(response.partNumber(), response);
+        return Optional.of(response);
+    }
+
+    public Optional<ProductResponse> getByPartNumber(String partNumber, Function<String, Optional<Product>> loader) {
+        if (missingPartNumbers.getIfPresent(partNumber) != null) {
+            return Optional.empty();
+        }
+        ProductResponse response = byPartNumber.get(partNumber, key -> load(loader.apply(key)));
+        if (response == null) {
+            missingPartNumbers.put(partNumber, Boolean.TRUE);
+            return Optional.empty();
+        }
+        byId.put(response.id(), response);
+        return Optional.of(response);
+    }
+
+    /**
+     * Caches a freshly written product under both keys and forgets any earlier miss for it.
+     */
+    public void put(Product product) {
+        ProductResponse response = ProductMapper.toResponse(product);
+        missingIds.invalidate(response.id());
+        missingPartNumbers.invalidate(response.partNumber());
+        byId.put(response.id(), response);
+        byPartNumber.put(response.partNumber(), response);
+    }
+
+    /**
+     * Forgets earlier misses for {@code product} without caching it, for bulk writes that would
+     * otherwise flush the cache.
+     */
+    public void forgetMiss(Product product) {
+        missingIds.invalidate(product.getId());
+        missingPartNumbers.invalidate(product.getPartNumber());
+    }
+
+    /**
+     * Drops {@code product} under both keys so the next lookup reads its current state.
+     */
+    public void evict(Product product) {
+        byId.invalidate(product.getId());
+        byPartNumber.invalidate(product.getPartNumber());
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        byPartNumber.invalidateAll();
+        missingIds.invalidateAll();
+        missingPartNumbers.invalidateAll();
+    }
+
+    /**
+     * The underlying caches by name, for metrics.
+     */
+    public Map<String, Cache<?, ?>> caches() {
+        return Map.of(
+                "productsById", byId,
+                "productsByPartNumber", byPartNumber,
+                "missingProductIds", missingIds,
+                "missingPartNumbers", missingPartNumbers);
+    }
+
+    private static ProductResponse load(Optional<Product> product) {
+        return product.map(ProductMapper::toResponse).orElse(null);
+    }
+}
@@ -0,0 +1,86 @@
+package com.phasezero.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.phasezero.catalog.config.CatalogProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded response bodies of the cached read endpoints, keyed by catalog version so a write
+ * makes every earlier entry unreachable. That is coarser than the per-product and per-category
+ * eviction of {@link CatalogCaches}: any write drops every cached body. Bodies at least
+ * {@code gzip-min-bytes} long are also kept gzip-compressed.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final Cache<Key, CachedResponse> cache;
+    private final int gzipMinBytes;
+
+    public ResponseBodyCache(CatalogProperties properties) {
+        CatalogProperties.ResponseCache settings = properties.getResponseCache();
+        this.gzipMinBytes = settings.getGzipMinBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaximumBytes())
+                .weigher((Key key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(settings.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    public CachedResponse get(long version, String requestUri) {
+        return cache.getIfPresent(new Key(version, requestUri));
+    }
+
+    public CachedResponse put(long version, String requestUri, String contentType,
+                              List<Map.Entry<String, String>> headers, byte[] body) {
+        byte[] gzip = body.length >= gzipMinBytes ? gzip(body) : null;
+        CachedResponse response = new CachedResponse(contentType, List.copyOf(headers), body, gzip);
+        cache.put(new Key(version, requestUri), response);
+        return response;
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public Cache<?, ?> nativeCache() {
+        return cache;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(long version, String requestUri) {}
+
+    public record CachedResponse(String contentType, List<Map.Entry<String, String>> headers,
+                                 byte[] identity, byte[] gzip) {
+
+        int weight() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        public String header(String name) {
+            for (Map.Entry<String, String> header : headers) {
+                if (header.getKey().equalsIgnoreCase(name)) {
+                    return header.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
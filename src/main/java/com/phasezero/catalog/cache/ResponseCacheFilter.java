@@ -0,0 +1,156 @@
+package com.phasezero.catalog.cache;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves the cached read endpoints from {@link ResponseBodyCache}: a hit is written straight from
+ * the stored bytes without reaching the controller or Jackson, and a miss captures the encoded
+ * body of a 200 response for the next request at the same catalog version. Off unless
+ * {@code catalog.response-cache.enabled}; checked per request rather than by a bean condition,
+ * so the switch also works on an AOT build.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    // written per response by the container or this filter
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.CONTENT_ENCODING.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase(), HttpHeaders.VARY.toLowerCase());
+
+    private static final String VERSION_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".version";
+
+    private final ResponseBodyCache bodyCache;
+    private final CatalogVersion catalogVersion;
+    private final boolean enabled;
+    private final Set<String> paths;
+
+    public ResponseCacheFilter(ResponseBodyCache bodyCache, CatalogVersion catalogVersion,
+                               CatalogProperties properties) {
+        this.bodyCache = bodyCache;
+        this.catalogVersion = catalogVersion;
+        this.enabled = properties.getResponseCache().isEnabled();
+        this.paths = Set.copyOf(properties.getResponseCache().getPaths());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !HttpMethod.GET.matches(request.getMethod()) || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        // read before the data, like the ETag, so an entry never outlives the version it was built at;
+        // kept on the request so an async dispatch stores the body under the version it started at
+        Long version = (Long) request.getAttribute(VERSION_ATTRIBUTE);
+        boolean asyncDispatch = version != null;
+        if (!asyncDispatch) {
+            version = catalogVersion.current();
+        }
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        ResponseBodyCache.CachedResponse cached = asyncDispatch ? null : bodyCache.get(version, key);
+        if (cached != null) {
+            // the cached paths are literal mappings; lets request metrics tag hits by route
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, request.getRequestURI());
+            ServerHttpObservationFilter.findObservationContext(request)
+                    .ifPresent(context -> context.setPathPattern(request.getRequestURI()));
+            String etag = cached.header(HttpHeaders.ETAG);
+            if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+            for (Map.Entry<String, String> header : cached.headers()) {
+                response.setHeader(header.getKey(), header.getValue());
+            }
+            write(cached, request, response);
+            return;
+        }
+
+        // on an async dispatch the container hands back the wrapper the request was started with
+        ContentCachingResponseWrapper wrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        chain.doFilter(request, wrapper);
+
+        if (request.isAsyncStarted()) {
+            // the handler finishes on another thread and writes the body on the async dispatch
+            request.setAttribute(VERSION_ATTRIBUTE, version);
+            return;
+        }
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(name, wrapper.getHeader(name)));
+            }
+        }
+        ResponseBodyCache.CachedResponse stored = bodyCache.put(
+                version, key, wrapper.getContentType(), headers, wrapper.getContentAsByteArray());
+        write(stored, request, (HttpServletResponse) wrapper.getResponse());
+    }
+
+    private static void write(ResponseBodyCache.CachedResponse cached, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        byte[] body = cached.identity();
+        if (cached.gzip() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = cached.gzip();
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            return !refused;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package com.phasezero.catalog.config;
+
+import com.phasezero.catalog.cache.CatalogCaches;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CatalogCaches catalogCaches) {
+        return catalogCaches.getCacheManager();
+    }
+}
@@ -0,0 +1,186 @@
+package com.phasezero.catalog.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    private Index index = new Index();
+    private Inventory inventory = new Inventory();
+    private Bulk bulk = new Bulk();
+    private Export export = new Export();
+    private Cache cache = new Cache();
+    private NearCache nearCache = new NearCache();
+    private ResponseCache responseCache = new ResponseCache();
+    private Stock stock = new Stock();
+    private Facets facets = new Facets();
+    private Changes changes = new Changes();
+    private Snapshot snapshot = new Snapshot();
+    private Bulkheads bulkheads = new Bulkheads();
+    private Replicas replicas = new Replicas();
+    private Search search = new Search();
+
+    @Getter
+    @Setter
+    public static class Index {
+        private boolean rebuildOnStartup = true;
+        private int rebuildBatchSize = 1000;
+        private PartNumberFilter partNumberFilter = new PartNumberFilter();
+    }
+
+    @Getter
+    @Setter
+    public static class PartNumberFilter {
+        // part numbers the first filter segment holds before a larger one is added
+        private long initialCapacity = 100_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class Inventory {
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+        // relative to the inventory value (absolute below a value of 1)
+        private double driftTolerance = 1e-9;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulk {
+        private int chunkSize = 500;
+        private boolean transactionPerChunk = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+        private int clearInterval = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private CacheSpec defaults = new CacheSpec();
+        private Map<String, CacheSpec> specs = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class CacheSpec {
+        // weight = number of products held by the cached value
+        private long maximumWeight = 10_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        private Duration refreshAfterWrite;
+    }
+
+    @Getter
+    @Setter
+    public static class NearCache {
+        private long maximumSize = 100_000;
+        // also bounds how long an entry refilled by a read racing a write's eviction stays stale
+        private Duration expireAfterWrite = Duration.ofMinutes(1);
+        // how long an unknown id or partNumber is answered without asking the database again
+        private Duration negativeTtl = Duration.ofSeconds(30);
+        private long negativeMaximumSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        private boolean enabled = false;
+        private long maximumBytes = 64L * 1024 * 1024;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+        private int gzipMinBytes = 1024;
+        private List<String> paths = List.of(
+                "/products/sorted-by-price", "/products/search", "/products/by-category", "/products/facets",
+                "/products/search/fuzzy");
+    }
+
+    @Getter
+    @Setter
+    public static class Stock {
+        // longest an adjustment waits before it is written to the database
+        private Duration maxStaleness = Duration.ofSeconds(1);
+        private int flushBatchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Facets {
+        // price band boundaries; bands run from 0 to the first bound and past the last one
+        private List<Double> priceBands = List.of(10.0, 50.0, 100.0, 500.0, 1000.0);
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+        // changes kept for polling clients; older cursors must resync
+        private int retention = 100_000;
+        private int maxPageSize = 1000;
+        private Duration streamTimeout = Duration.ofMinutes(30);
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        // a stream subscriber whose send blocks longer than this is dropped
+        private Duration sendTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        // binary copy of the catalog, written on shutdown and used to warm the indexes on startup
+        private boolean enabled = false;
+        private String path = "data/catalog.snapshot";
+    }
+
+    @Getter
+    @Setter
+    public static class Replicas {
+        // read-only transactions go to a replica pool, everything else to spring.datasource
+        private boolean enabled = false;
+        // JDBC URLs of the replicas; username and password are those of spring.datasource
+        private List<String> urls = List.of();
+        private int poolSize = 10;
+        // changes a replica may trail the primary by and still serve reads
+        private long maxLag = 0;
+        private int syncBatchSize = 500;
+        private Duration retryInterval = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+        // largest 'limit' of a fuzzy search or a suggest request, and largest 'size' of a facet page
+        private int maxLimit = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkheads {
+        private BulkheadSpec scan = new BulkheadSpec(8, 32);
+        private BulkheadSpec point = new BulkheadSpec(16, 128);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class BulkheadSpec {
+        private int threads = 8;
+        // requests waiting for a thread; further requests get a 503
+        private int queueCapacity = 32;
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        BulkheadSpec(int threads, int queueCapacity) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.phasezero.catalog.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for the service's own background work. With {@code spring.threads.virtual.enabled}
+ * they are virtual threads, like Tomcat's request threads and the scheduler in that mode;
+ * otherwise platform daemon threads.
+ * <p>
+ * Under AOT, Tomcat's and the scheduler's thread mode is fixed when the AOT code is generated,
+ * while this class reads the property at runtime. Startup fails if the two disagree instead of
+ * running half the service on virtual threads.
+ */
+@Component
+public class CatalogThreads {
+
+    private final boolean virtual;
+
+    @Autowired
+    public CatalogThreads(Environment environment, ListableBeanFactory beanFactory) {
+        this(Threading.VIRTUAL.isActive(environment));
+        if (AotDetector.useGeneratedArtifacts()) {
+            checkGeneratedThreading(beanFactory, virtual);
+        }
+    }
+
+    public CatalogThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Names threads {@code prefix-1}, {@code prefix-2}, ...
+     */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix + "-", 1).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An executor starting a new virtual thread per task, or null in platform mode so callers keep
+     * their own default.
+     */
+    public ExecutorService perTaskExecutor(String prefix) {
+        return virtual ? Executors.newThreadPerTaskExecutor(factory(prefix)) : null;
+    }
+
+    static void checkGeneratedThreading(ListableBeanFactory beanFactory, boolean virtual) {
+        if (beanFactory.getBeanNamesForType(TomcatWebServerFactoryCustomizer.class, false, false).length == 0) {
+            return;
+        }
+        boolean generated = beanFactory.getBeanNamesForType(
+                TomcatVirtualThreadsWebServerFactoryCustomizer.class, false, false).length > 0;
+        if (generated != virtual) {
+            throw new IllegalStateException("spring.threads.virtual.enabled is " + virtual
+                    + " at runtime but the AOT code was generated with it " + generated
+                    + "; rebuild with -Pfast-startup -Daot.profiles=" + (virtual ? "virtual-threads" : "")
+                    + " (Docker: --build-arg AOT_PROFILES=" + (virtual ? "virtual-threads" : "")
+                    + ") or run without spring.aot.enabled");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.phasezero.catalog.config;
+
+import com.phasezero.catalog.replica.ReplicaRoutingDataSource;
+import com.phasezero.catalog.replica.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a lazy proxy in front of the primary pool. A connection is only fetched when the first
+ * statement runs, so a read-only transaction answered from an index or cache never checks one out,
+ * and one that does reach the database has already declared itself read-only: it goes to a replica
+ * in range ({@code catalog.replicas}), everything else to the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // not injectable by type, so JPA, JdbcTemplate and the transaction managers all get the router
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary, ReplicaSet replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas));
+        return dataSource;
+    }
+}
@@ -0,0 +1,78 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.CatalogSummaryResponse;
+import com.phasezero.catalog.dto.CategoryAnalyticsResponse;
+import com.phasezero.catalog.dto.PriceHistogramResponse;
+import com.phasezero.catalog.service.ProductAnalyticsService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products/analytics")
+public class ProductAnalyticsController {
+
+    private final ProductAnalyticsService analyticsService;
+    private final CatalogVersion catalogVersion;
+
+    @Operation(
+            summary = "Catalog summary",
+            description = "Returns product, category and stock counts, inventory value and the price range of the whole catalog."
+    )
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<CatalogSummaryResponse>> getSummary(WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return versioned(etag).body(ResponseUtil.ok(analyticsService.getSummary()));
+    }
+
+    @Operation(
+            summary = "Per-category analytics",
+            description = "Returns product count, total stock, inventory value and min/max/avg price for each category."
+    )
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse<List<CategoryAnalyticsResponse>>> getCategoryAnalytics(WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return versioned(etag).body(ResponseUtil.ok(analyticsService.getCategoryAnalytics()));
+    }
+
+    @Operation(
+            summary = "Price histogram",
+            description = "Splits the price range of the catalog, or of one 'category', into equal-width buckets "
+                    + "and returns the products and stock in each."
+    )
+    @GetMapping("/price-histogram")
+    public ResponseEntity<ApiResponse<PriceHistogramResponse>> getPriceHistogram(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "10") int buckets,
+            WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return versioned(etag).body(ResponseUtil.ok(analyticsService.getPriceHistogram(category, buckets)));
+    }
+
+    private static ResponseEntity.BodyBuilder versioned(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+    }
+}
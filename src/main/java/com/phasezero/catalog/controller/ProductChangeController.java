@@ -0,0 +1,55 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.ChangeFeedResponse;
+import com.phasezero.catalog.service.ChangeFeedService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products/changes")
+public class ProductChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Operation(
+            summary = "Poll catalog changes",
+            description = "Returns changes after sequence 'since' (pass the previous 'next' and 'epoch'). Without "
+                    + "'since' returns the current position. Answers 410 when the changes are no longer retained; "
+                    + "reload the catalog and continue from 'latest'."
+    )
+    @GetMapping
+    public ResponseEntity<ApiResponse<ChangeFeedResponse>> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(defaultValue = "500") int limit) {
+        ChangeFeedResponse changes = changeFeedService.getChanges(since, epoch, limit);
+        return ResponseEntity.ok(ResponseUtil.ok(changes));
+    }
+
+    @Operation(
+            summary = "Stream catalog changes",
+            description = "Server-sent events: a 'change' event per mutation with 'epoch:sequence' as event id, and a "
+                    + "final 'resync' event when the client has fallen behind the retained changes or its cursor "
+                    + "comes from another epoch. Reconnects resume from Last-Event-ID."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) String epoch,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeedService.streamChanges(since, epoch, lastEventId);
+    }
+}
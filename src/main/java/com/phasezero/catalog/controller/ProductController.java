@@ -1,6 +1,10 @@
 package com.phasezero.catalog.controller;
 
+import com.phasezero.catalog.bulkhead.Bulkheads;
+import com.phasezero.catalog.cache.CatalogVersion;
 import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.CategoryInventoryResponse;
+import com.phasezero.catalog.dto.CursorPage;
 import com.phasezero.catalog.dto.ProductRequest;
 import com.phasezero.catalog.dto.ProductResponse;
 import com.phasezero.catalog.exception.ResourceNotFoundException;
@@ -10,11 +14,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Products", description = "Operations on the product catalog")
 @RestController
@@ -22,7 +29,12 @@ import java.util.List;
 @RequestMapping("/products")
 public class ProductController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
+    // reads run on a bulkhead per endpoint class so slow scans cannot starve point lookups
+    private final Bulkheads bulkheads;
 
     // 1:- Add new product
     @Operation(
@@ -40,17 +52,27 @@ public class ProductController {
     //2:- List all products
     @Operation(
             summary = "List all products with pagination",
-            description = "Returns a paginated list of all products stored in the catalog. "
-                    + "Use 'page' (0-based) and 'size' to control the result set."
+            description = "Returns products ordered by id. Pass the " + NEXT_CURSOR_HEADER + " response header "
+                    + "back as 'after' to fetch the next page; 'page' (0-based offset) is still accepted."
     )
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ProductResponse>>>> getAllProducts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after) {
+
+        if (page != null) {
+            if (after != null) {
+                throw new IllegalArgumentException("use either 'page' or 'after', not both");
+            }
+            return bulkheads.point().submit(() -> {
+                List<ProductResponse> list = productService.getAllProducts(page, size);
+                ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
+                return ResponseEntity.ok(body);
+            });
+        }
 
-        List<ProductResponse> list = productService.getAllProducts(page, size);
-        ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
-        return ResponseEntity.ok(body);
+        return bulkheads.point().submit(() -> withNextCursor(productService.getProductsAfter(after, size)));
     }
 
     //3:- Search by name
@@ -59,17 +81,19 @@ public class ProductController {
             description = "Search products whose partName contains the given text (case-insensitive)."
     )
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> searchByName(
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ProductResponse>>>> searchByName(
             @RequestParam("name") String name) {
 
-        List<ProductResponse> list = productService.searchByName(name);
+        return bulkheads.scan().submit(() -> {
+            List<ProductResponse> list = productService.searchByName(name);
 
-        if (list.isEmpty()) {
-            throw new ResourceNotFoundException("No products found matching name: " + name);
-        }
+            if (list.isEmpty()) {
+                throw new ResourceNotFoundException("No products found matching name: " + name);
+            }
 
-        ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
-        return ResponseEntity.ok(body);
+            ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
+            return ResponseEntity.ok(body);
+        });
     }
 
 
@@ -79,28 +103,48 @@ public class ProductController {
             description = "Return all products for a given category (case-insensitive match)."
     )
     @GetMapping("/by-category")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> filterByCategory(
-            @RequestParam("category") String category) {
-        List<ProductResponse> list = productService.filterByCategory(category);
-        ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
-        return ResponseEntity.ok(body);
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ProductResponse>>>> filterByCategory(
+            @RequestParam("category") String category, WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified();
+        }
+        return bulkheads.scan().submit(() -> {
+            List<ProductResponse> list = productService.filterByCategory(category);
+            ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
+            return versioned(etag).body(body);
+        });
     }
 
     // 5-  Sort products by price
     @Operation(
             summary = "Sort products by price",
-            description = "Return all products sorted by price in ascending order."
+            description = "Return products sorted by price (then id) in ascending order, one page at a time. "
+                    + "Pass the " + NEXT_CURSOR_HEADER + " response header back as 'after' to continue."
     )
     @GetMapping("/sorted-by-price")
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getProductsSortedByPrice() {
-        List<ProductResponse> list = productService.sortByPriceAscending();
-
-        if (list.isEmpty()) {
-            throw new ResourceNotFoundException("No products found in catalog");
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ProductResponse>>>> getProductsSortedByPrice(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified();
         }
-
-        ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(list);
-        return ResponseEntity.ok(body);
+        return bulkheads.scan().submit(() -> {
+            CursorPage<ProductResponse> result = productService.sortByPriceAscending(after, size);
+
+            if (after == null && result.items().isEmpty()) {
+                throw new ResourceNotFoundException("No products found in catalog");
+            }
+
+            ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(result.items());
+            ResponseEntity.BodyBuilder response = versioned(etag);
+            if (result.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(body);
+        });
     }
 
 
@@ -110,9 +154,77 @@ public class ProductController {
             description = "Returns sum(price * stock) for all products."
     )
     @GetMapping("/inventory/value")
-    public ResponseEntity<ApiResponse<Double>> getTotalInventoryValue() {
-        double value = productService.getTotalInventoryValue();
-        ApiResponse<Double> body = ResponseUtil.message("OK", "Total inventory value calculated", value);
-        return ResponseEntity.ok(body);
+    public CompletableFuture<ResponseEntity<ApiResponse<Double>>> getTotalInventoryValue(WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified();
+        }
+        return bulkheads.point().submit(() -> {
+            double value = productService.getTotalInventoryValue();
+            ApiResponse<Double> body = ResponseUtil.message("OK", "Total inventory value calculated", value);
+            return versioned(etag).body(body);
+        });
+    }
+
+    //7:-Return inventory value per category
+    @Operation(
+            summary = "Inventory value by category",
+            description = "Returns product count and sum(price * stock) for each category."
+    )
+    @GetMapping("/inventory/by-category")
+    public CompletableFuture<ResponseEntity<ApiResponse<List<CategoryInventoryResponse>>>> getInventoryValueByCategory(
+            WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return notModified();
+        }
+        return bulkheads.point().submit(() -> {
+            List<CategoryInventoryResponse> list = productService.getInventoryValueByCategory();
+            ApiResponse<List<CategoryInventoryResponse>> body =
+                    ResponseUtil.message("OK", "Inventory value by category calculated", list);
+            return versioned(etag).body(body);
+        });
+    }
+
+    //8:- Get a product by id
+    @Operation(
+            summary = "Get product by id",
+            description = "Returns a single product by its id."
+    )
+    @GetMapping("/{id:\\d+}")
+    public CompletableFuture<ResponseEntity<ApiResponse<ProductResponse>>> getProductById(@PathVariable Long id) {
+        return bulkheads.point().submit(() -> ResponseEntity.ok(ResponseUtil.ok(productService.getProductById(id))));
+    }
+
+    //9:- Get a product by part number
+    @Operation(
+            summary = "Get product by part number",
+            description = "Returns a single product by its exact partNumber."
+    )
+    @GetMapping("/part/{partNumber}")
+    public CompletableFuture<ResponseEntity<ApiResponse<ProductResponse>>> getProductByPartNumber(
+            @PathVariable String partNumber) {
+        return bulkheads.point().submit(
+                () -> ResponseEntity.ok(ResponseUtil.ok(productService.getProductByPartNumber(partNumber))));
+    }
+
+    // the 304 status and ETag are already set on the response
+    private static <T> CompletableFuture<ResponseEntity<T>> notModified() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // clients revalidate with If-None-Match; a 304 is answered before any data is read
+    private static ResponseEntity.BodyBuilder versioned(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+    }
+
+    private static ResponseEntity<ApiResponse<List<ProductResponse>>> withNextCursor(
+            CursorPage<ProductResponse> page) {
+        ApiResponse<List<ProductResponse>> body = ResponseUtil.ok(page.items());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(body);
     }
 }
@@ -0,0 +1,45 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.dto.ExportFormat;
+import com.phasezero.catalog.service.ProductExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products")
+public class ProductExportController {
+
+    private final ProductExportService productExportService;
+
+    @Operation(
+            summary = "Export the full catalog",
+            description = "Streams every product ordered by id as NDJSON (default) or CSV ('format=csv')."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+
+        StreamingResponseBody body = out -> productExportService.exportProducts(exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,49 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.FacetedSearchResponse;
+import com.phasezero.catalog.service.FacetedSearchService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products")
+public class ProductFacetController {
+
+    private final FacetedSearchService facetedSearchService;
+    private final CatalogVersion catalogVersion;
+
+    @Operation(
+            summary = "Faceted search",
+            description = "Returns one page of products matching the optional 'name', 'category' and 'priceBand' "
+                    + "filters together with product counts per category and per price band. Pass 'nextCursor' "
+                    + "back as 'after' to fetch the next page."
+    )
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<FacetedSearchResponse>> search(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String priceBand,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        String etag = catalogVersion.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        FacetedSearchResponse result = facetedSearchService.search(name, category, priceBand, after, size);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(ResponseUtil.ok(result));
+    }
+}
@@ -0,0 +1,100 @@
+package com.phasezero.catalog.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.BulkImportResult;
+import com.phasezero.catalog.dto.ProductRequest;
+import com.phasezero.catalog.service.ProductImportService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products")
+public class ProductImportController {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(
+            summary = "Bulk import products (JSON array)",
+            description = "Imports a JSON array of products in chunks and returns a per-row result report."
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkImportResult>> importJsonArray(InputStream body) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("request body must be a JSON array of products");
+        }
+        parser.nextToken();
+        return importRows(reader().readValues(parser));
+    }
+
+    @Operation(
+            summary = "Bulk import products (NDJSON)",
+            description = "Imports newline-delimited JSON products in chunks and returns a per-row result report."
+    )
+    @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkImportResult>> importNdjson(InputStream body) throws IOException {
+        return importRows(reader().readValues(body));
+    }
+
+    private ObjectReader reader() {
+        return objectMapper.readerFor(ProductRequest.class);
+    }
+
+    private ResponseEntity<ApiResponse<BulkImportResult>> importRows(MappingIterator<ProductRequest> rows) {
+        BulkImportResult result = productImportService.importProducts(new RowIterator(rows));
+        ApiResponse<BulkImportResult> body = ResponseUtil.message("OK", "Bulk import completed", result);
+        return ResponseEntity.ok(body);
+    }
+
+    // surfaces malformed rows as 400 instead of a generic parsing failure
+    private record RowIterator(MappingIterator<ProductRequest> rows) implements Iterator<ProductRequest> {
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return rows.hasNext();
+            } catch (RuntimeException e) {
+                throw malformed(e);
+            }
+        }
+
+        @Override
+        public ProductRequest next() {
+            try {
+                return rows.next();
+            } catch (RuntimeException e) {
+                throw malformed(e);
+            }
+        }
+
+        private RuntimeException malformed(RuntimeException e) {
+            if (!(e.getCause() instanceof JsonProcessingException cause)) {
+                return e;
+            }
+            return new IllegalArgumentException("Malformed product in bulk body at line "
+                    + cause.getLocation().getLineNr() + ": " + cause.getOriginalMessage());
+        }
+    }
+}
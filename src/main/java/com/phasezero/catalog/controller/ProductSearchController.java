@@ -0,0 +1,62 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.bulkhead.Bulkheads;
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.ScoredProductResponse;
+import com.phasezero.catalog.dto.SuggestionResponse;
+import com.phasezero.catalog.service.FuzzySearchService;
+import com.phasezero.catalog.service.SuggestService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products")
+public class ProductSearchController {
+
+    private final FuzzySearchService fuzzySearchService;
+    private final SuggestService suggestService;
+    private final Bulkheads bulkheads;
+
+    @Operation(
+            summary = "Typo-tolerant search by name",
+            description = "Ranks products by the share of the query's trigrams found in their partName and returns "
+                    + "at most 'limit' of them, best first. Products scoring below 'minScore' (0-1) are left out; "
+                    + "no match is an empty list."
+    )
+    @GetMapping("/search/fuzzy")
+    public CompletableFuture<ResponseEntity<ApiResponse<List<ScoredProductResponse>>>> fuzzySearch(
+            @RequestParam("name") String name,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0.5") double minScore) {
+
+        return bulkheads.scan().submit(() ->
+                ResponseEntity.ok(ResponseUtil.ok(fuzzySearchService.search(name, limit, minScore))));
+    }
+
+    @Operation(
+            summary = "Autocomplete by prefix",
+            description = "Completes 'prefix' against partNumber, partName and the words of partName from an "
+                    + "in-memory trie, returning at most 'limit' products with the most stock first. "
+                    + "No completion is an empty list."
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<SuggestionResponse>>> suggest(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        // in-memory and bounded by 'limit', so it stays on the request thread like the analytics reports
+        return ResponseEntity.ok(ResponseUtil.ok(suggestService.suggest(prefix, limit)));
+    }
+}
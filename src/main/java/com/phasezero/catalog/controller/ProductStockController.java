@@ -0,0 +1,57 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.dto.ApiResponse;
+import com.phasezero.catalog.dto.StockAdjustmentBatchRequest;
+import com.phasezero.catalog.dto.StockAdjustmentRequest;
+import com.phasezero.catalog.dto.StockAdjustmentResult;
+import com.phasezero.catalog.dto.StockLevelResponse;
+import com.phasezero.catalog.service.StockService;
+import com.phasezero.catalog.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Products", description = "Operations on the product catalog")
+@RestController
+@AllArgsConstructor
+@RequestMapping("/products")
+public class ProductStockController {
+
+    private final StockService stockService;
+
+    @Operation(
+            summary = "Adjust the stock of a product",
+            description = "Adds 'delta' (negative to take stock) and returns the new level. The change is written "
+                    + "to the database within catalog.stock.max-staleness, or before returning with 'sync=true'."
+    )
+    @PostMapping("/{partNumber}/stock/adjust")
+    public ResponseEntity<ApiResponse<StockLevelResponse>> adjustStock(
+            @PathVariable String partNumber,
+            @RequestParam(defaultValue = "false") boolean sync,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        StockLevelResponse level = stockService.adjustStock(partNumber, request.delta(), sync);
+        return ResponseEntity.ok(ResponseUtil.ok(level));
+    }
+
+    @Operation(
+            summary = "Adjust the stock of several products",
+            description = "Applies each adjustment independently and returns a per-row result report."
+    )
+    @PostMapping("/stock/adjust")
+    public ResponseEntity<ApiResponse<List<StockAdjustmentResult>>> adjustStockBatch(
+            @RequestParam(defaultValue = "false") boolean sync,
+            @Valid @RequestBody StockAdjustmentBatchRequest request) {
+        List<StockAdjustmentResult> results = stockService.adjustStock(request.adjustments(), sync);
+        return ResponseEntity.ok(ResponseUtil.message("OK", "Stock adjustments processed", results));
+    }
+}
@@ -0,0 +1,10 @@
+package com.phasezero.catalog.dto;
+
+import java.util.List;
+
+public record BulkImportResult(
+        int total,
+        int created,
+        int failed,
+        List<BulkImportRowResult> rows
+) {}
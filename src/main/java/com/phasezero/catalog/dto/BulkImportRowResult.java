@@ -0,0 +1,16 @@
+package com.phasezero.catalog.dto;
+
+public record BulkImportRowResult(
+        int index,
+        String partNumber,
+        Status status,
+        Long id,
+        String error
+) {
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        FAILED
+    }
+}
@@ -0,0 +1,11 @@
+package com.phasezero.catalog.dto;
+
+public record CatalogSummaryResponse(
+        long products,
+        int categories,
+        long totalStock,
+        double inventoryValue,
+        double minPrice,
+        double maxPrice,
+        double avgPrice
+) {}
@@ -0,0 +1,11 @@
+package com.phasezero.catalog.dto;
+
+public record CategoryAnalyticsResponse(
+        String category,
+        long products,
+        long totalStock,
+        double inventoryValue,
+        double minPrice,
+        double maxPrice,
+        double avgPrice
+) {}
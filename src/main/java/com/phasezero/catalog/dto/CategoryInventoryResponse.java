@@ -0,0 +1,7 @@
+package com.phasezero.catalog.dto;
+
+public record CategoryInventoryResponse(
+        String category,
+        long products,
+        double value
+) {}
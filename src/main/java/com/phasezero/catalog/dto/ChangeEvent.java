@@ -0,0 +1,15 @@
+package com.phasezero.catalog.dto;
+
+import java.time.Instant;
+
+public record ChangeEvent(
+        long sequence,
+        Operation operation,
+        Instant timestamp,
+        ProductResponse product
+) {
+    public enum Operation {
+        CREATED,
+        UPDATED
+    }
+}
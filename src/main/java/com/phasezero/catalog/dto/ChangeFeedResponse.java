@@ -0,0 +1,14 @@
+package com.phasezero.catalog.dto;
+
+import java.util.List;
+
+/**
+ * One page of the change feed. Poll again with {@code since = next} and the same {@code epoch}.
+ */
+public record ChangeFeedResponse(
+        String epoch,
+        long next,
+        long latest,
+        boolean hasMore,
+        List<ChangeEvent> changes
+) {}
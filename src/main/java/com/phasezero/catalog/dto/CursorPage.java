@@ -0,0 +1,8 @@
+package com.phasezero.catalog.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {}
@@ -0,0 +1,6 @@
+package com.phasezero.catalog.dto;
+
+public record FacetCount(
+        String value,
+        long count
+) {}
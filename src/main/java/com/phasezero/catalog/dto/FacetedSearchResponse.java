@@ -0,0 +1,11 @@
+package com.phasezero.catalog.dto;
+
+import java.util.List;
+
+public record FacetedSearchResponse(
+        long total,
+        List<ProductResponse> items,
+        String nextCursor,
+        List<FacetCount> categories,
+        List<FacetCount> priceBands
+) {}
@@ -0,0 +1,21 @@
+package com.phasezero.catalog.dto;
+
+import java.util.List;
+
+public record PriceHistogramResponse(
+        String category,
+        double minPrice,
+        double maxPrice,
+        double bucketWidth,
+        List<Bucket> buckets
+) {
+    /**
+     * Products priced in {@code [lowerBound, upperBound)}; the last bucket includes its upper bound.
+     */
+    public record Bucket(
+            double lowerBound,
+            double upperBound,
+            long products,
+            long stock
+    ) {}
+}
@@ -0,0 +1,6 @@
+package com.phasezero.catalog.dto;
+
+public record ScoredProductResponse(
+        ProductResponse product,
+        double score
+) {}
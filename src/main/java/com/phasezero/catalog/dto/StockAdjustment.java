@@ -0,0 +1,12 @@
+package com.phasezero.catalog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record StockAdjustment(
+        @NotBlank(message = "partNumber is required")
+        String partNumber,
+
+        @NotNull(message = "delta is required")
+        Integer delta
+) {}
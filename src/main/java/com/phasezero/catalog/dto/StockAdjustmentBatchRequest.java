@@ -0,0 +1,11 @@
+package com.phasezero.catalog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record StockAdjustmentBatchRequest(
+        @NotEmpty(message = "adjustments are required")
+        List<@Valid StockAdjustment> adjustments
+) {}
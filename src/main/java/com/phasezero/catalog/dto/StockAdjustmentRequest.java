@@ -0,0 +1,8 @@
+package com.phasezero.catalog.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record StockAdjustmentRequest(
+        @NotNull(message = "delta is required")
+        Integer delta
+) {}
@@ -0,0 +1,16 @@
+package com.phasezero.catalog.dto;
+
+public record StockAdjustmentResult(
+        int index,
+        String partNumber,
+        Status status,
+        Integer stock,
+        String error
+) {
+    public enum Status {
+        APPLIED,
+        NOT_FOUND,
+        INSUFFICIENT_STOCK,
+        INVALID
+    }
+}
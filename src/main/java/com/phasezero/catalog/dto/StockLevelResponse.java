@@ -0,0 +1,11 @@
+package com.phasezero.catalog.dto;
+
+/**
+ * Stock after an adjustment; {@code pending} is the part of it not yet written to the database.
+ */
+public record StockLevelResponse(
+        Long id,
+        String partNumber,
+        int stock,
+        long pending
+) {}
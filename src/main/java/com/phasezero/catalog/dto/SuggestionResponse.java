@@ -0,0 +1,8 @@
+package com.phasezero.catalog.dto;
+
+public record SuggestionResponse(
+        Long id,
+        String partNumber,
+        String partName,
+        int stock
+) {}
@@ -0,0 +1,17 @@
+package com.phasezero.catalog.exception;
+
+import java.time.Duration;
+
+public class BulkheadFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public BulkheadFullException(String bulkhead, Duration retryAfter) {
+        super("Too many concurrent " + bulkhead + " requests, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,8 @@
+package com.phasezero.catalog.exception;
+
+public class CatalogNotReadyException extends RuntimeException {
+
+    public CatalogNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.phasezero.catalog.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -39,6 +40,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStock(
+            InsufficientStockException ex,
+            HttpServletRequest req) {
+
+        log.warn("409 Conflict at {}: {}", req.getRequestURI(), ex.getMessage());
+
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                "INSUFFICIENT_STOCK",
+                req.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(
             MethodArgumentNotValidException ex,
@@ -130,6 +151,70 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(CatalogNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleNotReady(
+            CatalogNotReadyException ex,
+            HttpServletRequest req) {
+
+        log.warn("503 Service unavailable at {}: {}", req.getRequestURI(), ex.getMessage());
+
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                "CATALOG_NOT_READY",
+                req.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(
+            BulkheadFullException ex,
+            HttpServletRequest req) {
+
+        // shed requests are counted by the bulkhead meters; a line each would flood the log under load
+        log.debug("503 Service unavailable at {}: {}", req.getRequestURI(), ex.getMessage());
+
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                "OVERLOADED",
+                req.getRequestURI(),
+                null
+        );
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(body);
+    }
+
+    @ExceptionHandler(ResyncRequiredException.class)
+    public ResponseEntity<ErrorResponse> handleResyncRequired(
+            ResyncRequiredException ex,
+            HttpServletRequest req) {
+
+        log.info("410 Gone at {}: {}", req.getRequestURI(), ex.getMessage());
+
+        ErrorResponse body = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.GONE.value(),
+                "Gone",
+                ex.getMessage(),
+                "RESYNC_REQUIRED",
+                req.getRequestURI(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.GONE).body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(
             Exception ex,
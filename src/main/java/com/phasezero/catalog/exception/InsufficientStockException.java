@@ -0,0 +1,8 @@
+package com.phasezero.catalog.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
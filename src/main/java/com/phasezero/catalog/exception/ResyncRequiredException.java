@@ -0,0 +1,8 @@
+package com.phasezero.catalog.exception;
+
+public class ResyncRequiredException extends RuntimeException {
+
+    public ResyncRequiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.phasezero.catalog.feed;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only log of catalog mutations, retained in a fixed-size ring. Sequence numbers are
+ * only meaningful within one {@link #epoch()}: they restart with the process, like the catalog
+ * version.
+ */
+@Component
+public class ChangeLog {
+
+    private final CatalogVersion catalogVersion;
+    private final ChangeEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile long latest;
+
+    public ChangeLog(CatalogVersion catalogVersion, CatalogProperties properties) {
+        this.catalogVersion = catalogVersion;
+        this.ring = new ChangeEvent[properties.getChanges().getRetention()];
+    }
+
+    public String epoch() {
+        return catalogVersion.epoch();
+    }
+
+    public ChangeEvent append(ChangeEvent.Operation operation, Product product) {
+        ChangeEvent event;
+        lock.lock();
+        try {
+            long sequence = latest + 1;
+            event = new ChangeEvent(sequence, operation, Instant.now(), ProductMapper.toResponse(product));
+            ring[slot(sequence)] = event;
+            latest = sequence;
+        } finally {
+            lock.unlock();
+        }
+        listeners.forEach(Runnable::run);
+        return event;
+    }
+
+    /**
+     * Sequence of the newest change, 0 while the log is empty.
+     */
+    public long latest() {
+        return latest;
+    }
+
+    /**
+     * Sequence of the oldest change still retained.
+     */
+    public long oldest() {
+        return Math.max(1, latest - ring.length + 1);
+    }
+
+    /**
+     * Up to {@code limit} changes after {@code since}, oldest first.
+     *
+     * @throws ResyncRequiredException when changes after {@code since} have already been dropped,
+     *                                 or {@code since} was never issued by this log
+     */
+    public List<ChangeEvent> since(long since, int limit) {
+        lock.lock();
+        try {
+            long oldest = oldest();
+            if (since < oldest - 1 || since > latest) {
+                throw new ResyncRequiredException("Sequence " + since + " is outside the retained changes (oldest "
+                        + oldest + ", latest " + latest + "); reload the catalog, then follow from the current position");
+            }
+            long end = Math.min(latest, since + limit);
+            List<ChangeEvent> changes = new ArrayList<>((int) (end - since));
+            for (long sequence = since + 1; sequence <= end; sequence++) {
+                changes.add(ring[slot(sequence)]);
+            }
+            return changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code listener} on the writing thread after every append; it must return quickly.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+}
@@ -0,0 +1,219 @@
+package com.phasezero.catalog.feed;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the change log to server-sent event subscribers. Each subscriber is pumped by at most one
+ * sender task at a time, so it sees changes in order without gaps or duplicates, and writers never
+ * wait for clients. The log itself is the bounded queue: a subscriber only holds a cursor into it,
+ * and one that falls out of the retained window is told to resync. A client that stops reading
+ * blocks only its own sender; once a send has been stuck for {@code catalog.changes.send-timeout}
+ * the subscriber is dropped, and it resumes from {@code Last-Event-ID} when it reconnects.
+ */
+@Slf4j
+@Component
+public class ChangeStream {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final ChangeLog changeLog;
+    private final CatalogProperties.Changes settings;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // one thread per subscriber with something to send; a stalled client pins only its own
+    private final ExecutorService senders;
+
+    public ChangeStream(ChangeLog changeLog, CatalogProperties properties, CatalogThreads catalogThreads) {
+        this.changeLog = changeLog;
+        this.settings = properties.getChanges();
+        this.senders = Executors.newCachedThreadPool(catalogThreads.factory("change-stream"));
+        changeLog.addListener(this::scheduleAll);
+    }
+
+    /**
+     * Streams every change after {@code since}. A subscriber that falls behind the retained
+     * window, or presents a cursor from another epoch, gets a {@value #RESYNC_EVENT} event and
+     * the stream ends.
+     */
+    public SseEmitter subscribe(long since, boolean epochMatches) {
+        return subscribe(new SseEmitter(settings.getStreamTimeout().toMillis()), since, epochMatches);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, long since, boolean epochMatches) {
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        if (!epochMatches) {
+            senders.execute(() -> subscriber.resync(new ResyncRequiredException(
+                    "Cursor belongs to another epoch; reload the catalog, then follow from the current position")));
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        // keeps idle connections open through proxies and finds clients that went away
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > settings.getSendTimeout().toNanos()) {
+                // its sender stays blocked until the write fails; the stream just stops counting on it
+                log.warn("Dropping change stream subscriber at {}: a send has been blocked for over {}",
+                        subscriber.cursor, settings.getSendTimeout());
+                subscribers.remove(subscriber);
+                continue;
+            }
+            subscriber.heartbeat = true;
+            subscriber.schedule();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * The SSE event id, {@code epoch:sequence}, so a reconnect through {@code Last-Event-ID} alone
+     * cannot resume a cursor from an earlier process.
+     */
+    public String eventId(long sequence) {
+        return changeLog.epoch() + ":" + sequence;
+    }
+
+    private void scheduleAll() {
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    private void pump(Subscriber subscriber) {
+        if (subscriber.heartbeat) {
+            subscriber.heartbeat = false;
+            if (!subscriber.send(SseEmitter.event().comment("heartbeat"))) {
+                return;
+            }
+        }
+        while (subscribers.contains(subscriber)) {
+            List<ChangeEvent> changes;
+            try {
+                changes = changeLog.since(subscriber.cursor, settings.getMaxPageSize());
+            } catch (ResyncRequiredException e) {
+                subscriber.resync(e);
+                return;
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (ChangeEvent change : changes) {
+                if (!subscriber.send(SseEmitter.event()
+                        .id(eventId(change.sequence()))
+                        .name(CHANGE_EVENT)
+                        .data(change, MediaType.APPLICATION_JSON))) {
+                    return;
+                }
+                subscriber.cursor = change.sequence();
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // a sender is running / more work arrived while it ran
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicBoolean pending = new AtomicBoolean();
+        // only written by the running sender
+        private volatile long cursor;
+        private volatile boolean heartbeat;
+        // System.nanoTime() when the current send started, 0 between sends
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        // collapses a burst of appends into one pass, never two senders for one subscriber
+        private void schedule() {
+            pending.set(true);
+            if (running.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    running.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                pending.set(false);
+                try {
+                    pump(this);
+                } finally {
+                    running.set(false);
+                }
+            } while (pending.get() && running.compareAndSet(false, true));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            sendingSince = System.nanoTime();
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping change stream subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            } finally {
+                sendingSince = 0;
+            }
+            if (!subscribers.contains(this)) {
+                // dropped by the heartbeat while this send was blocked
+                emitter.complete();
+                return false;
+            }
+            return true;
+        }
+
+        private void resync(ResyncRequiredException e) {
+            log.info("Change stream subscriber at {} must resync: {}", cursor, e.getMessage());
+            if (send(SseEmitter.event().name(RESYNC_EVENT).data(Map.of(
+                    "epoch", changeLog.epoch(),
+                    "latest", changeLog.latest(),
+                    "message", e.getMessage()), MediaType.APPLICATION_JSON))) {
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+    }
+}
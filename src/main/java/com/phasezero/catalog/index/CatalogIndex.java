@@ -0,0 +1,26 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+
+/**
+ * In-memory structure derived from the products table. Implementations are kept in sync
+ * by {@link CatalogIndexManager}, which also rebuilds them from the repository at startup.
+ */
+public interface CatalogIndex {
+
+    void clear();
+
+    void index(Product product);
+
+    /**
+     * Applies a change to a product that is already indexed. Indexes keyed by product id can
+     * simply re-index it.
+     */
+    default void update(Product before, Product after) {
+        index(after);
+    }
+
+    void markReady();
+
+    boolean isReady();
+}
@@ -0,0 +1,178 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class CatalogIndexManager {
+
+    private final ProductRepository productRepository;
+    private final List<CatalogIndex> indexes;
+    private final CatalogProperties properties;
+
+    // writers share the read lock; a rebuild holds the write lock so no update is lost in between
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // shared sections entered so far, counted once the read lock is held
+    private final AtomicLong writes = new AtomicLong();
+
+    public CatalogIndexManager(ProductRepository productRepository,
+                               List<CatalogIndex> indexes,
+                               CatalogProperties properties) {
+        this.productRepository = productRepository;
+        this.indexes = indexes;
+        this.properties = properties;
+    }
+
+    public void productSaved(Product product) {
+        lockShared();
+        try {
+            for (CatalogIndex index : indexes) {
+                index.index(product);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void productUpdated(Product before, Product after) {
+        lockShared();
+        try {
+            for (CatalogIndex index : indexes) {
+                index.update(before, after);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} alongside other writers but never during a rebuild or reconciliation,
+     * for a database write and its index updates that must be observed together.
+     */
+    public void runShared(Runnable action) {
+        callShared(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@link #runShared(Runnable)} for an action with a result.
+     */
+    public <T> T callShared(Supplier<T> action) {
+        lockShared();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} while no index updates are applied.
+     */
+    public void runExclusive(Runnable action) {
+        callExclusive(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * {@link #runExclusive(Runnable)} for an action with a result. The action may call
+     * {@link #rebuild(String, Consumer)}.
+     */
+    public <T> T callExclusive(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A stamp for reading the database outside the lock, or -1 while a write is in progress. Once
+     * the exclusive section is held, {@link #writtenSince(long)} tells whether the read may have
+     * missed a write the indexes have.
+     */
+    public long writeStamp() {
+        long stamp = writes.get();
+        return lock.getReadLockCount() == 0 ? stamp : -1;
+    }
+
+    public boolean writtenSince(long stamp) {
+        return stamp < 0 || writes.get() != stamp;
+    }
+
+    /**
+     * Rebuilds every index from the products table.
+     */
+    public boolean rebuild() {
+        return rebuild("database", this::loadFromDatabase);
+    }
+
+    /**
+     * Rebuilds every index from {@code products}, which passes each product to the given consumer.
+     * On failure the indexes are left empty and not ready, and false is returned.
+     */
+    public boolean rebuild(String source, Consumer<Consumer<Product>> products) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            indexes.forEach(CatalogIndex::clear);
+
+            long[] loaded = new long[1];
+            products.accept(product -> {
+                for (CatalogIndex index : indexes) {
+                    index.index(product);
+                }
+                loaded[0]++;
+            });
+
+            indexes.forEach(CatalogIndex::markReady);
+            log.info("Rebuilt {} catalog indexes from {} products ({}) in {} ms",
+                    indexes.size(), loaded[0], source, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Catalog index rebuild from {} failed, queries will keep using the database", source, e);
+            indexes.forEach(CatalogIndex::clear);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void lockShared() {
+        lock.readLock().lock();
+        writes.incrementAndGet();
+    }
+
+    private void loadFromDatabase(Consumer<Product> consumer) {
+        int batchSize = properties.getIndex().getRebuildBatchSize();
+        Pageable pageable = PageRequest.of(0, batchSize, Sort.by(Sort.Direction.ASC, "id"));
+        long lastId = 0;
+        Slice<Product> slice;
+        do {
+            slice = productRepository.findByIdGreaterThan(lastId, pageable);
+            for (Product product : slice.getContent()) {
+                consumer.accept(product);
+                lastId = product.getId();
+            }
+        } while (slice.hasNext());
+    }
+}
@@ -0,0 +1,358 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented copy of the numeric product attributes: one primitive array per column and
+ * dictionary-encoded categories. Reports scan the columns in parallel chunks instead of
+ * hydrating entities.
+ */
+@Slf4j
+@Component
+public class ColumnarSnapshot implements CatalogIndex {
+
+    // rows per fork-join task; smaller snapshots are scanned by the calling thread
+    static final int CHUNK_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // writers are O(1) appends or overwrites; a report holds the read lock for one scan
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private LongIntMap rows = new LongIntMap(INITIAL_CAPACITY);
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int size;
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            categories.clear();
+            categoryCodes.clear();
+            rows = new LongIntMap(INITIAL_CAPACITY);
+            prices = new double[INITIAL_CAPACITY];
+            stock = new int[INITIAL_CAPACITY];
+            categoryIds = new int[INITIAL_CAPACITY];
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            int row = rows.get(product.getId());
+            if (row < 0) {
+                row = size++;
+                if (row == prices.length) {
+                    int capacity = prices.length * 2;
+                    prices = Arrays.copyOf(prices, capacity);
+                    stock = Arrays.copyOf(stock, capacity);
+                    categoryIds = Arrays.copyOf(categoryIds, capacity);
+                }
+                rows.put(product.getId(), row);
+            }
+            prices[row] = product.getPrice();
+            stock[row] = product.getStock();
+            categoryIds[row] = categoryCode(product.getCategory().toLowerCase(Locale.ROOT));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        log.info("Columnar snapshot ready: {} rows, {} categories", size(), categories.size());
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Product count, stock, inventory value and price range per category, in category order.
+     */
+    public List<CategoryStats> categoryStats() {
+        lock.readLock().lock();
+        try {
+            int rowCount = size;
+            int categoryCount = categories.size();
+            double[] prices = this.prices;
+            int[] stock = this.stock;
+            int[] categoryIds = this.categoryIds;
+
+            Totals totals = chunks(rowCount)
+                    .mapToObj(chunk -> {
+                        Totals partial = new Totals(categoryCount);
+                        int end = Math.min(rowCount, chunk + CHUNK_SIZE);
+                        for (int row = chunk; row < end; row++) {
+                            partial.add(categoryIds[row], prices[row], stock[row]);
+                        }
+                        return partial;
+                    })
+                    .reduce(Totals::merge)
+                    .orElseGet(() -> new Totals(categoryCount));
+
+            List<CategoryStats> result = new ArrayList<>(categoryCount);
+            for (int code = 0; code < categoryCount; code++) {
+                if (totals.products[code] > 0) {
+                    result.add(totals.stats(categories.get(code), code));
+                }
+            }
+            result.sort((a, b) -> a.category().compareTo(b.category()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the price range of {@code category} (all products when null) into {@code buckets}
+     * equal-width buckets and counts products and stock in each.
+     */
+    public PriceHistogram priceHistogram(String category, int buckets) {
+        lock.readLock().lock();
+        try {
+            int rowCount = size;
+            double[] prices = this.prices;
+            int[] stock = this.stock;
+            int[] categoryIds = this.categoryIds;
+            int code;
+            if (category == null) {
+                code = -1;
+            } else {
+                Integer known = categoryCodes.get(category.toLowerCase(Locale.ROOT));
+                if (known == null) {
+                    return new PriceHistogram(0.0, 0.0, new long[0], new long[0]);
+                }
+                code = known;
+            }
+
+            double[] range = chunks(rowCount)
+                    .mapToObj(chunk -> {
+                        double min = Double.POSITIVE_INFINITY;
+                        double max = Double.NEGATIVE_INFINITY;
+                        int end = Math.min(rowCount, chunk + CHUNK_SIZE);
+                        for (int row = chunk; row < end; row++) {
+                            if (code < 0 || categoryIds[row] == code) {
+                                min = Math.min(min, prices[row]);
+                                max = Math.max(max, prices[row]);
+                            }
+                        }
+                        return new double[]{min, max};
+                    })
+                    .reduce((a, b) -> new double[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])})
+                    .orElse(new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+            if (range[0] > range[1]) {
+                return new PriceHistogram(0.0, 0.0, new long[0], new long[0]);
+            }
+
+            double min = range[0];
+            double max = range[1];
+            // a single price needs a single bucket
+            int bucketCount = min == max ? 1 : buckets;
+            double width = (max - min) / bucketCount;
+            long[][] counts = chunks(rowCount)
+                    .mapToObj(chunk -> {
+                        long[][] partial = new long[2][bucketCount];
+                        int end = Math.min(rowCount, chunk + CHUNK_SIZE);
+                        for (int row = chunk; row < end; row++) {
+                            if (code < 0 || categoryIds[row] == code) {
+                                int bucket = width == 0 ? 0 : Math.min(bucketCount - 1, (int) ((prices[row] - min) / width));
+                                partial[0][bucket]++;
+                                partial[1][bucket] += stock[row];
+                            }
+                        }
+                        return partial;
+                    })
+                    .reduce((a, b) -> {
+                        for (int i = 0; i < bucketCount; i++) {
+                            a[0][i] += b[0][i];
+                            a[1][i] += b[1][i];
+                        }
+                        return a;
+                    })
+                    .orElseGet(() -> new long[2][bucketCount]);
+            return new PriceHistogram(min, max, counts[0], counts[1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static IntStream chunks(int rowCount) {
+        IntStream starts = IntStream.iterate(0, start -> start < rowCount, start -> start + CHUNK_SIZE);
+        return rowCount > CHUNK_SIZE ? starts.parallel() : starts;
+    }
+
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categories.size();
+            categories.add(category);
+            categoryCodes.put(category, code);
+        }
+        return code;
+    }
+
+    public record CategoryStats(String category, long products, long stock, double inventoryValue,
+                                double minPrice, double maxPrice, double priceSum) {
+    }
+
+    /**
+     * Bucket {@code i} covers {@code [minPrice + i * width, minPrice + (i + 1) * width)}; the last
+     * bucket also includes {@code maxPrice}.
+     */
+    public record PriceHistogram(double minPrice, double maxPrice, long[] products, long[] stock) {
+
+        public int buckets() {
+            return products.length;
+        }
+
+        public double width() {
+            return products.length == 0 ? 0.0 : (maxPrice - minPrice) / products.length;
+        }
+    }
+
+    private static final class Totals {
+
+        private final long[] products;
+        private final long[] stock;
+        private final double[] value;
+        private final double[] priceSum;
+        private final double[] minPrice;
+        private final double[] maxPrice;
+
+        private Totals(int categories) {
+            products = new long[categories];
+            stock = new long[categories];
+            value = new double[categories];
+            priceSum = new double[categories];
+            minPrice = new double[categories];
+            maxPrice = new double[categories];
+            Arrays.fill(minPrice, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxPrice, Double.NEGATIVE_INFINITY);
+        }
+
+        private void add(int category, double price, int units) {
+            products[category]++;
+            stock[category] += units;
+            value[category] += price * units;
+            priceSum[category] += price;
+            minPrice[category] = Math.min(minPrice[category], price);
+            maxPrice[category] = Math.max(maxPrice[category], price);
+        }
+
+        private Totals merge(Totals other) {
+            for (int i = 0; i < products.length; i++) {
+                products[i] += other.products[i];
+                stock[i] += other.stock[i];
+                value[i] += other.value[i];
+                priceSum[i] += other.priceSum[i];
+                minPrice[i] = Math.min(minPrice[i], other.minPrice[i]);
+                maxPrice[i] = Math.max(maxPrice[i], other.maxPrice[i]);
+            }
+            return this;
+        }
+
+        private CategoryStats stats(String category, int code) {
+            return new CategoryStats(category, products[code], stock[code], value[code],
+                    minPrice[code], maxPrice[code], priceSum[code]);
+        }
+    }
+
+    // open-addressing map from product id to row, without boxing a Long and an Integer per product
+    private static final class LongIntMap {
+
+        private static final long EMPTY = 0L;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        private LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
+
+        private int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        private void put(long key, int value) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("product id must not be " + EMPTY);
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+    }
+}
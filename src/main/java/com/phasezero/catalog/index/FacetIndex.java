@@ -0,0 +1,233 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of product ids per category and per price band. A faceted query intersects
+ * them with the name matches and counts each facet value with one cardinality-only AND.
+ */
+@Slf4j
+@Component
+public class FacetIndex implements CatalogIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // lower bounds of every band but the first, which starts at 0
+    private final double[] bandBounds;
+    private final List<String> bandLabels;
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> categories = new TreeMap<>();
+    private final RoaringBitmap[] bands;
+    private volatile boolean ready;
+
+    public FacetIndex(CatalogProperties properties) {
+        this.bandBounds = properties.getFacets().getPriceBands().stream()
+                .mapToDouble(Double::doubleValue)
+                .filter(bound -> bound > 0)
+                .sorted()
+                .distinct()
+                .toArray();
+        this.bandLabels = new ArrayList<>(bandBounds.length + 1);
+        for (int band = 0; band <= bandBounds.length; band++) {
+            String lower = band == 0 ? "0" : format(bandBounds[band - 1]);
+            bandLabels.add(band == bandBounds.length ? lower + "+" : lower + "-" + format(bandBounds[band]));
+        }
+        this.bands = new RoaringBitmap[bandLabels.size()];
+        Arrays.setAll(bands, band -> new RoaringBitmap());
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            all.clear();
+            categories.clear();
+            for (RoaringBitmap band : bands) {
+                band.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        int doc = doc(product.getId());
+        lock.writeLock().lock();
+        try {
+            all.add(doc);
+            categories.computeIfAbsent(key(product.getCategory()), k -> new RoaringBitmap()).add(doc);
+            bands[band(product.getPrice())].add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Product before, Product after) {
+        int doc = doc(after.getId());
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap category = categories.get(key(before.getCategory()));
+            if (category != null) {
+                category.remove(doc);
+            }
+            bands[band(before.getPrice())].remove(doc);
+            all.add(doc);
+            categories.computeIfAbsent(key(after.getCategory()), k -> new RoaringBitmap()).add(doc);
+            bands[band(after.getPrice())].add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            // ids are mostly contiguous, so run containers shrink the bitmaps considerably
+            all.runOptimize();
+            categories.values().forEach(RoaringBitmap::runOptimize);
+            for (RoaringBitmap band : bands) {
+                band.runOptimize();
+            }
+            ready = true;
+            log.info("Facet index ready: {} products, {} categories, {} price bands, {} KiB",
+                    all.getCardinality(), categories.size(), bands.length, sizeInBytes() / 1024);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<String> priceBands() {
+        return bandLabels;
+    }
+
+    /**
+     * Position of the band labelled {@code label} in {@link #priceBands()}.
+     */
+    public int priceBand(String label) {
+        int band = bandLabels.indexOf(label);
+        if (band < 0) {
+            throw new IllegalArgumentException("unknown price band '" + label + "', expected one of " + bandLabels);
+        }
+        return band;
+    }
+
+    /**
+     * Products matching all given filters, plus facet counts. Category counts ignore the category
+     * filter and band counts ignore the band filter, so each facet shows what selecting another
+     * value would return.
+     *
+     * @param names    ids matching the name query, or null for no name filter
+     * @param category category to filter on, or null
+     * @param band     price band position to filter on, or -1
+     */
+    public FacetResult query(RoaringBitmap names, String category, int band) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = names == null ? all.clone() : RoaringBitmap.and(names, all);
+            RoaringBitmap inBand = band < 0 ? base : RoaringBitmap.and(base, bands[band]);
+
+            Map<String, Integer> categoryCounts = new LinkedHashMap<>();
+            categories.forEach((value, ids) -> {
+                int count = RoaringBitmap.andCardinality(inBand, ids);
+                if (count > 0) {
+                    categoryCounts.put(value, count);
+                }
+            });
+
+            RoaringBitmap inCategory = base;
+            if (category != null) {
+                RoaringBitmap ids = categories.get(key(category));
+                inCategory = ids == null ? new RoaringBitmap() : RoaringBitmap.and(base, ids);
+            }
+            int[] bandCounts = new int[bands.length];
+            for (int i = 0; i < bands.length; i++) {
+                bandCounts[i] = RoaringBitmap.andCardinality(inCategory, bands[i]);
+            }
+
+            RoaringBitmap matches = band < 0 ? inCategory : RoaringBitmap.and(inCategory, bands[band]);
+            return new FacetResult(matches, categoryCounts, bandCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = all.getSizeInBytes();
+            for (RoaringBitmap ids : categories.values()) {
+                bytes += ids.getSizeInBytes();
+            }
+            for (RoaringBitmap ids : bands) {
+                bytes += ids.getSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int band(double price) {
+        int band = Arrays.binarySearch(bandBounds, price);
+        // a price equal to a bound opens the band starting there
+        return band >= 0 ? band + 1 : -band - 1;
+    }
+
+    // bitmaps hold 32-bit values; sequence ids stay far below that
+    private static int doc(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static String key(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+
+    private static String format(double bound) {
+        return BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * The matching ids are a private copy and can be read without holding the index lock.
+     */
+    public record FacetResult(RoaringBitmap matches, Map<String, Integer> categoryCounts, int[] bandCounts) {
+
+        /**
+         * Up to {@code limit} matching ids greater than {@code after}, in ascending order.
+         */
+        public List<Long> page(long after, int limit) {
+            List<Long> ids = new ArrayList<>();
+            PeekableIntIterator iterator = matches.getIntIterator();
+            if (after >= 0) {
+                iterator.advanceIfNeeded(Math.toIntExact(after + 1));
+            }
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add((long) iterator.next());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.dto.CategoryInventoryResponse;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.CategoryInventoryView;
+import com.phasezero.catalog.util.KahanSum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running sum(price * stock), overall and per category, updated in O(1) per write.
+ */
+@Slf4j
+@Component
+public class InventoryAggregates implements CatalogIndex {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final KahanSum total = new KahanSum();
+    private final Map<String, CategoryTotals> categories = new TreeMap<>();
+    private volatile long count;
+
+    private volatile double totalValue;
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            ready = false;
+            total.reset(0.0);
+            categories.clear();
+            count = 0;
+            totalValue = 0.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        add(product.getCategory(), product.getPrice() * product.getStock(), 1);
+    }
+
+    @Override
+    public void update(Product before, Product after) {
+        lock.lock();
+        try {
+            add(before.getCategory(), -before.getPrice() * before.getStock(), -1);
+            add(after.getCategory(), after.getPrice() * after.getStock(), 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        log.info("Inventory aggregates ready: {} products, total value={}", count, totalValue);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public double totalValue() {
+        return totalValue;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public List<CategoryInventoryResponse> byCategory() {
+        lock.lock();
+        try {
+            List<CategoryInventoryResponse> result = new ArrayList<>(categories.size());
+            categories.forEach((category, totals) -> result.add(
+                    new CategoryInventoryResponse(category, totals.products, totals.value.value())));
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the running totals with values recomputed by the database.
+     */
+    public void reset(double value, List<CategoryInventoryView> byCategory) {
+        lock.lock();
+        try {
+            total.reset(value);
+            categories.clear();
+            count = 0;
+            for (CategoryInventoryView view : byCategory) {
+                CategoryTotals totals = new CategoryTotals();
+                totals.products = view.getProducts();
+                totals.value.reset(view.getInventoryValue());
+                categories.put(view.getCategory(), totals);
+                count += view.getProducts();
+            }
+            totalValue = total.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(String category, double value, long products) {
+        String key = category.toLowerCase(Locale.ROOT);
+        lock.lock();
+        try {
+            total.add(value);
+            count += products;
+            CategoryTotals totals = categories.computeIfAbsent(key, k -> new CategoryTotals());
+            totals.value.add(value);
+            totals.products += products;
+            totalValue = total.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class CategoryTotals {
+        private final KahanSum value = new KahanSum();
+        private long products;
+    }
+}
@@ -0,0 +1,68 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.repository.CategoryInventoryView;
+import com.phasezero.catalog.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically recomputes the inventory value in SQL and corrects {@link InventoryAggregates}
+ * when the running totals have drifted. The SUM runs outside the index lock; writers only wait
+ * for the comparison, and for a second SUM when writes raced the first and it looks drifted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReconciler {
+
+    private final ProductRepository productRepository;
+    private final InventoryAggregates aggregates;
+    private final CatalogIndexManager indexManager;
+    private final CatalogProperties properties;
+
+    private volatile double lastDrift;
+
+    @Scheduled(initialDelayString = "${catalog.inventory.reconcile-interval:PT5M}",
+            fixedDelayString = "${catalog.inventory.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!aggregates.isReady()) {
+            return;
+        }
+        long stamp = indexManager.writeStamp();
+        double sum = productRepository.sumInventoryValue();
+        indexManager.runExclusive(() -> {
+            double expected = sum;
+            double actual = aggregates.totalValue();
+            if (drifted(actual, expected) && indexManager.writtenSince(stamp)) {
+                // a write committed after the SUM read the table; only a fresh one can tell
+                expected = productRepository.sumInventoryValue();
+            }
+            double drift = actual - expected;
+            lastDrift = drift;
+
+            if (drifted(actual, expected)) {
+                log.warn("Inventory value drifted by {} (running={}, database={}), resetting aggregates",
+                        drift, actual, expected);
+                List<CategoryInventoryView> byCategory = productRepository.sumInventoryValueByCategory();
+                aggregates.reset(expected, byCategory);
+            } else {
+                log.debug("Inventory value reconciled, drift={}", drift);
+            }
+        });
+    }
+
+    // relative, because the database's plain double SUM is itself off by more than a cent on a large catalog
+    private boolean drifted(double actual, double expected) {
+        double tolerance = properties.getInventory().getDriftTolerance() * Math.max(1, Math.abs(expected));
+        return Math.abs(actual - expected) > tolerance;
+    }
+
+    public double getLastDrift() {
+        return lastDrift;
+    }
+}
@@ -0,0 +1,245 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scalable Bloom filter over {@code Product.partNumber}. A negative answer means the part number
+ * is certainly not stored, so the duplicate pre-check can be skipped; a positive answer still has
+ * to be confirmed by the database. When a segment reaches its capacity a new one with twice the
+ * capacity and half the false-positive rate is appended, which keeps the overall rate bounded by
+ * the configured target without knowing the catalog size up front.
+ */
+@Slf4j
+@Component
+public class PartNumberFilter implements CatalogIndex {
+
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock growLock = new ReentrantLock();
+    private final AtomicLong size = new AtomicLong();
+    private volatile boolean ready;
+
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder possiblePositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public PartNumberFilter(CatalogProperties properties) {
+        CatalogProperties.PartNumberFilter settings = properties.getIndex().getPartNumberFilter();
+        this.initialCapacity = settings.getInitialCapacity();
+        this.falsePositiveRate = settings.getFalsePositiveRate();
+        clear();
+    }
+
+    @Override
+    public void clear() {
+        growLock.lock();
+        try {
+            ready = false;
+            segments.clear();
+            segments.add(new Segment(initialCapacity, falsePositiveRate / 2));
+            size.set(0);
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        put(product.getPartNumber());
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        log.info("Part number filter ready: {} part numbers in {} segments, {} KiB, expected fpp={}",
+                size.get(), segments.size(), bitSize() / 8 / 1024, expectedFalsePositiveRate());
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns {@code false} only if {@code partNumber} has certainly never been indexed.
+     * While the filter is building every part number is reported as possibly present.
+     */
+    public boolean mightContain(String partNumber) {
+        if (!ready) {
+            return true;
+        }
+        boolean possible = contains(partNumber);
+        (possible ? possiblePositives : definiteNegatives).increment();
+        return possible;
+    }
+
+    /**
+     * Records that a possible positive turned out not to exist in the database.
+     */
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    void put(String partNumber) {
+        long hash = hash(partNumber);
+        if (contains(hash)) {
+            return;
+        }
+        Segment segment = segments.get(segments.size() - 1);
+        if (segment.isFull()) {
+            segment = grow(segment);
+        }
+        segment.put(hash);
+        size.incrementAndGet();
+    }
+
+    private boolean contains(String partNumber) {
+        return contains(hash(partNumber));
+    }
+
+    private boolean contains(long hash) {
+        for (Segment segment : segments) {
+            if (segment.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Segment grow(Segment full) {
+        growLock.lock();
+        try {
+            Segment last = segments.get(segments.size() - 1);
+            if (last != full) {
+                return last;
+            }
+            Segment next = new Segment(full.capacity * 2, full.falsePositiveRate / 2);
+            segments.add(next);
+            log.debug("Part number filter grew to {} segments", segments.size());
+            return next;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    /**
+     * Distinct part numbers added, slightly undercounted by additions that were already false positives.
+     */
+    public long size() {
+        return size.get();
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Segment segment : segments) {
+            bits += segment.bits;
+        }
+        return bits;
+    }
+
+    /**
+     * Probability that a part number that was never added is reported as present, given the
+     * current fill of every segment.
+     */
+    public double expectedFalsePositiveRate() {
+        double allClear = 1.0;
+        for (Segment segment : segments) {
+            allClear *= 1.0 - segment.expectedFalsePositiveRate();
+        }
+        return 1.0 - allClear;
+    }
+
+    public long definiteNegatives() {
+        return definiteNegatives.sum();
+    }
+
+    public long possiblePositives() {
+        return possiblePositives.sum();
+    }
+
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    // FNV-1a over the chars, finished with the murmur3 mixer
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashes;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        private Segment(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+            this.bits = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        // double hashing: probe i is h1 + i * h2 (Kirsch-Mitzenmacher)
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                long mask = 1L << bit;
+                int word = (int) (bit >>> 6);
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashes * count.get() / bits), hashes);
+        }
+    }
+}
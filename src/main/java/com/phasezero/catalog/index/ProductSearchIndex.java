@@ -0,0 +1,216 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram inverted index over {@code Product.partName}. A substring query is answered by
+ * intersecting the posting lists of its trigrams and verifying the surviving candidates; a fuzzy
+ * query ranks names by how many of its trigrams they share.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex implements CatalogIndex {
+
+    static final int GRAM = 3;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparingInt(Candidate::length)
+            .thenComparingLong(Candidate::id);
+
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        ready = false;
+        names.clear();
+        postings.clear();
+    }
+
+    @Override
+    public void index(Product product) {
+        Long id = product.getId();
+        String name = normalize(product.getPartName());
+        String previous = names.put(id, name);
+        if (name.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            for (long gram : trigrams(pad(previous))) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                }
+            }
+        }
+        for (long gram : trigrams(pad(name))) {
+            postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+        log.info("Search index ready: {} products, {} trigrams", names.size(), postings.size());
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the ids of products whose partName contains {@code text} (case-insensitive),
+     * in ascending id order.
+     */
+    public List<Long> search(String text) {
+        String query = normalize(text);
+        List<Long> result = new ArrayList<>();
+
+        if (query.length() < GRAM) {
+            names.forEach((id, name) -> {
+                if (name.contains(query)) {
+                    result.add(id);
+                }
+            });
+        } else {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (long gram : trigrams(query)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> smallest = lists.get(0);
+            List<Set<Long>> others = lists.subList(1, lists.size());
+            for (Long id : smallest) {
+                if (containedInAll(id, others)) {
+                    String name = names.get(id);
+                    if (name != null && name.contains(query)) {
+                        result.add(id);
+                    }
+                }
+            }
+        }
+
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} products whose partName holds at least {@code minScore} of the query's
+     * trigrams, best first; ties go to the shorter name, then the lower id. Names and query are
+     * padded with a space at each end, so word starts and ends count as trigrams and a typo costs
+     * at most three of them.
+     * <p>
+     * A name short of {@code minScore} can miss at most {@code total - needed} of the query's
+     * trigrams, so every match appears in one of the {@code total - needed + 1} rarest posting
+     * lists. Only those lists produce candidates, the common ones are merely probed, and a heap of
+     * {@code limit} entries keeps the best; the work does not grow with the number of weak matches.
+     */
+    public List<Match> fuzzySearch(String text, int limit, double minScore) {
+        Set<Long> grams = trigrams(pad(normalize(text).trim().replaceAll("\\s+", " ")));
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            lists.add(postings.getOrDefault(gram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        int total = lists.size();
+        // the epsilon keeps 0.6 * 5 from rounding up to 4
+        int needed = Math.max(1, (int) Math.ceil(minScore * total - 1e-9));
+        int generators = total - needed + 1;
+        Map<Long, Integer> shared = new HashMap<>();
+        for (int i = 0; i < generators; i++) {
+            for (Long id : lists.get(i)) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        shared.forEach((id, count) -> {
+            for (int j = generators; j < total && count + (total - j) >= needed; j++) {
+                if (lists.get(j).contains(id)) {
+                    count++;
+                }
+            }
+            String name = names.get(id);
+            if (count < needed || name == null) {
+                return;
+            }
+            best.offer(new Candidate(id, (double) count / total, name.length()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<Match> matches = new ArrayList<>(ranked.size());
+        ranked.forEach(candidate -> matches.add(new Match(candidate.id(), candidate.score())));
+        return matches;
+    }
+
+    /**
+     * A product id with the share of the query's trigrams found in its partName.
+     */
+    public record Match(long id, double score) {}
+
+    private record Candidate(long id, double score, int length) {}
+
+    private static boolean containedInAll(Long id, List<Set<Long>> lists) {
+        for (Set<Long> ids : lists) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Set<Long> trigrams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(pack(value, i));
+        }
+        return grams;
+    }
+
+    // three UTF-16 chars fit in the low 48 bits of a long
+    private static long pack(String value, int offset) {
+        return ((long) value.charAt(offset) << 32)
+                | ((long) value.charAt(offset + 1) << 16)
+                | value.charAt(offset + 2);
+    }
+
+    private static String pad(String value) {
+        return " " + value + " ";
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,359 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix trie over the normalized partNumber, the partName and every word of the partName that
+ * starts a later part of it, so "filt" completes "Oil Filter". Chains of single-child nodes are
+ * collapsed into one edge, and every node keeps the highest stock below it. A lookup walks the
+ * prefix and then expands the subtree best first, stopping once {@code limit} products are out,
+ * so its cost follows the prefix length and the limit rather than the size of the catalog.
+ */
+@Slf4j
+@Component
+public class SuggestIndex implements CatalogIndex {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    // at equal stock a product is emitted before a subtree is opened
+    private static final Comparator<Pending> BEST_FIRST = Comparator.comparingInt(Pending::stock).reversed()
+            .thenComparing(pending -> pending.suggestion() == null);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Suggestion> products = new HashMap<>();
+    private Node root = new Node("");
+    private int nodes = 1;
+    private int keys;
+    private volatile boolean ready;
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            products.clear();
+            root = new Node("");
+            nodes = 1;
+            keys = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        Suggestion suggestion = new Suggestion(product.getId(), product.getPartNumber(), product.getPartName(),
+                product.getStock());
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = products.put(suggestion.id(), suggestion);
+            if (suggestion.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                for (String key : keys(previous)) {
+                    remove(key, previous.id());
+                }
+            }
+            for (String key : keys(suggestion)) {
+                insert(key, suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markReady() {
+        lock.readLock().lock();
+        try {
+            ready = true;
+            log.info("Suggest index ready: {} products, {} keys, {} nodes", products.size(), keys, nodes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} products with a key starting with {@code prefix} (case-insensitive),
+     * highest stock first. Products with equal stock come in no particular order; ranking them
+     * would mean opening every subtree that reaches that stock.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = find(query);
+            if (node == null) {
+                return List.of();
+            }
+
+            List<Suggestion> result = new ArrayList<>(limit);
+            // a product is reached once per key under the prefix
+            Set<Long> seen = new HashSet<>();
+            PriorityQueue<Pending> queue = new PriorityQueue<>(BEST_FIRST);
+            queue.add(new Pending(node.max, node, null));
+            while (!queue.isEmpty() && result.size() < limit) {
+                Pending next = queue.poll();
+                if (next.suggestion() != null) {
+                    if (seen.add(next.suggestion().id())) {
+                        result.add(next.suggestion());
+                    }
+                    continue;
+                }
+                for (Suggestion suggestion : next.node().suggestions) {
+                    queue.add(new Pending(suggestion.stock(), null, suggestion));
+                }
+                for (Node child : next.node().children) {
+                    queue.add(new Pending(child.max, child, null));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A product as it is offered for completion.
+     */
+    public record Suggestion(long id, String partNumber, String partName, int stock) {}
+
+    private record Pending(int stock, Node node, Suggestion suggestion) {}
+
+    private static final class Node {
+        // edge from the parent; children are kept sorted by its first char
+        String label;
+        Node[] children = NO_CHILDREN;
+        Suggestion[] suggestions = NO_SUGGESTIONS;
+        int max = Integer.MIN_VALUE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        int childIndex(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char value = children[mid].label.charAt(0);
+                if (value < first) {
+                    low = mid + 1;
+                } else if (value > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void recompute() {
+            int value = Integer.MIN_VALUE;
+            for (Suggestion suggestion : suggestions) {
+                value = Math.max(value, suggestion.stock());
+            }
+            for (Node child : children) {
+                value = Math.max(value, child.max);
+            }
+            max = value;
+        }
+    }
+
+    // the node whose subtree holds every key starting with query
+    private Node find(String query) {
+        Node node = root;
+        int i = 0;
+        while (i < query.length()) {
+            int index = node.childIndex(query.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int common = common(child.label, query, i);
+            if (i + common == query.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        Node node = root;
+        int i = 0;
+        while (true) {
+            node.max = Math.max(node.max, suggestion.stock());
+            if (i == key.length()) {
+                node.suggestions = Arrays.copyOf(node.suggestions, node.suggestions.length + 1);
+                node.suggestions[node.suggestions.length - 1] = suggestion;
+                keys++;
+                return;
+            }
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                leaf.suggestions = new Suggestion[]{suggestion};
+                leaf.max = suggestion.stock();
+                node.children = add(node.children, -index - 1, leaf);
+                nodes++;
+                keys++;
+                return;
+            }
+            Node child = node.children[index];
+            int common = common(child.label, key, i);
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                split.max = child.max;
+                node.children[index] = split;
+                nodes++;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+    }
+
+    private void remove(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        path.add(node);
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            if (common(child.label, key, i) < child.label.length()) {
+                return;
+            }
+            node = child;
+            i += child.label.length();
+            path.add(node);
+            indexes.add(index);
+        }
+
+        Suggestion[] suggestions = node.suggestions;
+        for (int s = 0; s < suggestions.length; s++) {
+            if (suggestions[s].id() == id) {
+                Suggestion[] remaining = Arrays.copyOf(suggestions, suggestions.length - 1);
+                System.arraycopy(suggestions, s + 1, remaining, s, suggestions.length - s - 1);
+                node.suggestions = remaining;
+                keys--;
+                break;
+            }
+        }
+
+        // prune empty leaves and fold pass-through nodes into their only child, bottom up
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            int index = indexes.get(depth - 1);
+            if (current.suggestions.length == 0 && current.children.length == 0) {
+                parent.children = removeAt(parent.children, index);
+                nodes--;
+            } else if (current.suggestions.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[index] = only;
+                nodes--;
+            } else {
+                current.recompute();
+            }
+        }
+        root.recompute();
+    }
+
+    private static Node[] add(Node[] children, int at, Node child) {
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, at);
+        result[at] = child;
+        System.arraycopy(children, at, result, at + 1, children.length - at);
+        return result;
+    }
+
+    private static Node[] removeAt(Node[] children, int at) {
+        Node[] result = new Node[children.length - 1];
+        System.arraycopy(children, 0, result, 0, at);
+        System.arraycopy(children, at + 1, result, at, children.length - at - 1);
+        return result;
+    }
+
+    // length of the common prefix of label and key[offset..]
+    private static int common(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    static Set<String> keys(Suggestion suggestion) {
+        Set<String> keys = new LinkedHashSet<>();
+        String partNumber = normalize(suggestion.partNumber());
+        if (!partNumber.isEmpty()) {
+            keys.add(partNumber);
+        }
+        String name = normalize(suggestion.partName());
+        for (int i = 0; i < name.length(); i++) {
+            if (i == 0 || name.charAt(i - 1) == ' ') {
+                keys.add(name.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+package com.phasezero.catalog.metrics;
+
+import com.phasezero.catalog.bulkhead.Bulkhead;
+import com.phasezero.catalog.bulkhead.Bulkheads;
+import com.phasezero.catalog.cache.CacheMissCoalescer;
+import com.phasezero.catalog.cache.CacheNames;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.cache.ResponseBodyCache;
+import com.phasezero.catalog.index.InventoryAggregates;
+import com.phasezero.catalog.index.InventoryReconciler;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.replica.Replica;
+import com.phasezero.catalog.replica.ReplicaSet;
+import com.phasezero.catalog.service.impl.StockServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog-specific meters. Spring cache and Hikari/Hibernate meters are bound by Spring Boot;
+ * this covers the in-memory indexes and the reads that do not go through a Spring cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogMetrics implements MeterBinder {
+
+    private static final List<String> COALESCED_CACHES = List.of(
+            CacheNames.SORTED_BY_PRICE, CacheNames.PRODUCTS_BY_NAME,
+            CacheNames.PRODUCTS_BY_CATEGORY, CacheNames.INVENTORY_VALUE);
+
+    private final ProductSearchIndex searchIndex;
+    private final InventoryAggregates inventoryAggregates;
+    private final InventoryReconciler inventoryReconciler;
+    private final CacheMissCoalescer missCoalescer;
+    private final PartNumberFilter partNumberFilter;
+    private final ProductNearCache nearCache;
+    private final ResponseBodyCache responseBodyCache;
+    private final StockServiceImpl stockService;
+    private final Bulkheads bulkheads;
+    private final ReplicaSet replicas;
+
+    private final LongAdder inventoryHits = new LongAdder();
+    private final LongAdder inventoryMisses = new LongAdder();
+
+    /**
+     * An inventory read is a hit when the running aggregates answered it without SQL.
+     */
+    public void inventoryRead(boolean hit) {
+        (hit ? inventoryHits : inventoryMisses).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.products", inventoryAggregates, InventoryAggregates::count)
+                .description("Products held by the in-memory inventory aggregates")
+                .register(registry);
+        Gauge.builder("catalog.index.size", searchIndex, ProductSearchIndex::size)
+                .description("Products held by the name search index")
+                .register(registry);
+        Gauge.builder("catalog.index.ready", searchIndex, index -> index.isReady() ? 1 : 0)
+                .register(registry);
+        Gauge.builder("catalog.inventory.drift", inventoryReconciler, InventoryReconciler::getLastDrift)
+                .description("Difference between running and recomputed inventory value at the last reconciliation")
+                .register(registry);
+
+        Gauge.builder("catalog.stock.pending", stockService, StockServiceImpl::pendingProducts)
+                .description("Products with stock adjustments not yet written to the database")
+                .register(registry);
+        FunctionCounter.builder("catalog.stock.flushed", stockService, StockServiceImpl::flushedProducts)
+                .description("Product stock updates written by write-behind flushes")
+                .register(registry);
+
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            Gauge.builder("catalog.bulkhead.queued", bulkhead, Bulkhead::queued)
+                    .description("Requests waiting for a bulkhead thread")
+                    .tag("bulkhead", bulkhead.name())
+                    .register(registry);
+            Gauge.builder("catalog.bulkhead.active", bulkhead, Bulkhead::active)
+                    .description("Requests running on a bulkhead thread")
+                    .tag("bulkhead", bulkhead.name())
+                    .register(registry);
+            FunctionCounter.builder("catalog.bulkhead.requests", bulkhead, Bulkhead::completed)
+                    .tags("bulkhead", bulkhead.name(), "result", "completed")
+                    .register(registry);
+            FunctionCounter.builder("catalog.bulkhead.requests", bulkhead, Bulkhead::rejected)
+                    .description("Requests refused with a 503 because the bulkhead queue was full")
+                    .tags("bulkhead", bulkhead.name(), "result", "rejected")
+                    .register(registry);
+        }
+
+        for (Replica replica : replicas.all()) {
+            Gauge.builder("catalog.replica.lag", replica, r -> r.isSynced() ? replicas.lag(r) : Double.NaN)
+                    .description("Catalog changes the replica has yet to apply; NaN until its first copy")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            FunctionCounter.builder("catalog.replica.reads", replica, Replica::reads)
+                    .description("Read-only transactions served by the replica")
+                    .tag("target", replica.name())
+                    .register(registry);
+        }
+        FunctionCounter.builder("catalog.replica.reads", replicas, ReplicaSet::primaryReads)
+                .description("Read-only transactions sent to the primary because no replica was in range")
+                .tag("target", "primary")
+                .register(registry);
+
+        FunctionCounter.builder("catalog.cache.gets", inventoryHits, LongAdder::sum)
+                .tags("cache", CacheNames.INVENTORY_VALUE, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("catalog.cache.gets", inventoryMisses, LongAdder::sum)
+                .tags("cache", CacheNames.INVENTORY_VALUE, "result", "miss")
+                .register(registry);
+
+        FunctionCounter.builder("catalog.partnumber.filter.checks", partNumberFilter, PartNumberFilter::definiteNegatives)
+                .description("Part number checks answered by the filter alone")
+                .tag("result", "negative")
+                .register(registry);
+        FunctionCounter.builder("catalog.partnumber.filter.checks", partNumberFilter, PartNumberFilter::possiblePositives)
+                .description("Part number checks that had to be confirmed in the database")
+                .tag("result", "positive")
+                .register(registry);
+        FunctionCounter.builder("catalog.partnumber.filter.false.positives", partNumberFilter, PartNumberFilter::falsePositives)
+                .register(registry);
+        Gauge.builder("catalog.partnumber.filter.fpp", partNumberFilter, CatalogMetrics::observedFalsePositiveRate)
+                .description("False positives among part numbers that did not exist")
+                .tag("kind", "observed")
+                .register(registry);
+        Gauge.builder("catalog.partnumber.filter.fpp", partNumberFilter, PartNumberFilter::expectedFalsePositiveRate)
+                .description("False-positive rate predicted from the filter fill")
+                .tag("kind", "expected")
+                .register(registry);
+        Gauge.builder("catalog.partnumber.filter.size", partNumberFilter, PartNumberFilter::size)
+                .register(registry);
+
+        // same tag keys as the Spring cache meters so they share one Prometheus metric family
+        nearCache.caches().forEach((name, cache) ->
+                CaffeineCacheMetrics.monitor(registry, cache, name, Tags.of("cache.manager", "nearCache", "name", name)));
+        CaffeineCacheMetrics.monitor(registry, responseBodyCache.nativeCache(), "responseBodies",
+                Tags.of("cache.manager", "responseCache", "name", "responseBodies"));
+
+        for (String cache : COALESCED_CACHES) {
+            CacheMissCoalescer.Stats stats = missCoalescer.stats(cache);
+            FunctionCounter.builder("catalog.cache.loads", stats, CacheMissCoalescer.Stats::executions)
+                    .description("Cache misses computed against the repository")
+                    .tags("cache", cache, "result", "executed")
+                    .register(registry);
+            FunctionCounter.builder("catalog.cache.loads", stats, CacheMissCoalescer.Stats::collapsed)
+                    .description("Cache misses that joined an in-flight computation")
+                    .tags("cache", cache, "result", "collapsed")
+                    .register(registry);
+        }
+    }
+
+    private static double observedFalsePositiveRate(PartNumberFilter filter) {
+        long falsePositives = filter.falsePositives();
+        long absent = falsePositives + filter.definiteNegatives();
+        return absent == 0 ? 0.0 : (double) falsePositives / absent;
+    }
+}
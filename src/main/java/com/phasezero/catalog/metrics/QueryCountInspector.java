@@ -0,0 +1,51 @@
+package com.phasezero.catalog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Closes the count opened by {@link #start()} and returns the statements seen since.
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * The count open on the current thread, or null; pass it to {@link #attach(int[])} to continue
+     * counting on another thread.
+     */
+    public static int[] current() {
+        return COUNT.get();
+    }
+
+    public static void attach(int[] count) {
+        if (count != null) {
+            COUNT.set(count);
+        }
+    }
+
+    public static void detach() {
+        COUNT.remove();
+    }
+}
@@ -8,6 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "products", uniqueConstraints = {
         @UniqueConstraint(name = "uk_part_number", columnNames = "part_number")
+}, indexes = {
+        @Index(name = "idx_products_price_id", columnList = "price, id")
 })
 @Getter
 @Setter
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "part_number", nullable = false, length = 100)
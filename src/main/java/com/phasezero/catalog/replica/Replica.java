@@ -0,0 +1,54 @@
+package com.phasezero.catalog.replica;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One read replica: its connection pool and the last catalog change it is known to hold.
+ */
+public class Replica {
+
+    static final long NOT_SYNCED = -1;
+
+    private final String name;
+    private final DataSource dataSource;
+    private final LongAdder reads = new LongAdder();
+    private volatile long applied = NOT_SYNCED;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Sequence of the newest {@link com.phasezero.catalog.feed.ChangeLog} entry applied to this
+     * replica, or {@value #NOT_SYNCED} until its first full copy has finished.
+     */
+    public long applied() {
+        return applied;
+    }
+
+    void applied(long sequence) {
+        this.applied = sequence;
+    }
+
+    public boolean isSynced() {
+        return applied != NOT_SYNCED;
+    }
+
+    public long reads() {
+        return reads.sum();
+    }
+
+    void read() {
+        reads.increment();
+    }
+}
@@ -0,0 +1,38 @@
+package com.phasezero.catalog.replica;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections from a replica that is in range, falling back to the primary. Used as the
+ * read-only target of a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which only asks for a connection once a read-only transaction runs its first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        Replica replica = replicas.pick();
+        return replica != null ? replica.dataSource() : primary;
+    }
+}
@@ -0,0 +1,130 @@
+package com.phasezero.catalog.replica;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The configured read replicas and the choice between them. A replica serves reads only once it
+ * has applied the catalog write sequence; when none has, reads stay on the primary. Writers append
+ * to the change log before they evict caches or bump the catalog version, so a read that refills a
+ * cache after a write cannot come from a replica still missing it. Reads whose result is never
+ * cached can opt into {@link #tolerateLag()}, which admits replicas trailing by at most
+ * {@code catalog.replicas.max-lag} changes. Empty unless {@code catalog.replicas.enabled} is set.
+ */
+@Component
+public class ReplicaSet {
+
+    private final List<Replica> replicas;
+    private final ChangeLog changeLog;
+    private final long maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+    private final ThreadLocal<Boolean> lagTolerant = ThreadLocal.withInitial(() -> false);
+
+    @Autowired
+    public ReplicaSet(CatalogProperties properties, DataSourceProperties dataSourceProperties, ChangeLog changeLog,
+                      MeterRegistry meterRegistry) {
+        this(createReplicas(properties.getReplicas(), dataSourceProperties, meterRegistry), changeLog,
+                properties.getReplicas().getMaxLag());
+    }
+
+    public ReplicaSet(List<Replica> replicas, ChangeLog changeLog, long maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.changeLog = changeLog;
+        this.maxLag = maxLag;
+    }
+
+    public List<Replica> all() {
+        return replicas;
+    }
+
+    /**
+     * Next replica in rotation that is close enough to the primary, or null when reads have to go
+     * to the primary.
+     */
+    public Replica pick() {
+        long allowed = lagTolerant.get() ? maxLag : 0;
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isSynced() && lag(replica) <= allowed) {
+                replica.read();
+                return replica;
+            }
+        }
+        primaryReads.increment();
+        return null;
+    }
+
+    /**
+     * Lets connections checked out on this thread come from a replica up to {@code max-lag} changes
+     * behind, until the returned scope is closed. Only for reads whose result is not cached.
+     */
+    public LagScope tolerateLag() {
+        lagTolerant.set(true);
+        return lagTolerant::remove;
+    }
+
+    public interface LagScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Changes the replica still has to apply; {@code Long.MAX_VALUE} before its first full copy.
+     */
+    public long lag(Replica replica) {
+        return replica.isSynced() ? Math.max(0, changeLog.latest() - replica.applied()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Read-only connections that went to the primary because no replica was in range.
+     */
+    public long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    @PreDestroy
+    void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private static List<Replica> createReplicas(CatalogProperties.Replicas settings,
+                                                DataSourceProperties dataSourceProperties,
+                                                MeterRegistry meterRegistry) {
+        List<Replica> replicas = new ArrayList<>();
+        if (!settings.isEnabled()) {
+            return replicas;
+        }
+        for (String url : settings.getUrls()) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(settings.getPoolSize());
+            // not beans, so Spring Boot's pool metrics do not see them; same hikaricp_* meters, tagged by pool
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new Replica(name, pool));
+        }
+        return replicas;
+    }
+}
@@ -0,0 +1,164 @@
+package com.phasezero.catalog.replica;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import com.phasezero.catalog.feed.ChangeLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps H2 replicas in step with the primary for local runs, standing in for database replication.
+ * A replica starts with a full copy of the products table and then follows the {@link ChangeLog}:
+ * each batch of changes names the products to re-read from the primary and merge into the replica,
+ * and the replica's position moves to the last sequence applied. That position is what
+ * {@link ReplicaSet} measures lag against.
+ */
+@Slf4j
+@Component
+public class ReplicaSynchronizer {
+
+    private static final String COLUMNS = "id, part_number, part_name, category, price, stock, created_at";
+    private static final String VALUES = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final RowMapper<Object[]> ROW = (rs, rowNum) -> {
+        Object[] row = new Object[7];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    };
+
+    private final JdbcTemplate primary;
+    private final ChangeLog changeLog;
+    private final ReplicaSet replicas;
+    private final int batchSize;
+    private final ExecutorService executor;
+    // collapses a burst of appends into one pass over the replicas
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean started;
+
+    public ReplicaSynchronizer(JdbcTemplate jdbcTemplate,
+                               ChangeLog changeLog,
+                               ReplicaSet replicas,
+                               CatalogProperties properties,
+                               CatalogThreads catalogThreads) {
+        // outside a read-only transaction this always reaches the primary
+        this.primary = jdbcTemplate;
+        this.changeLog = changeLog;
+        this.replicas = replicas;
+        this.batchSize = properties.getReplicas().getSyncBatchSize();
+        this.executor = Executors.newSingleThreadExecutor(catalogThreads.factory("replica-sync"));
+        changeLog.addListener(this::schedule);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // the schema is in place once the context is ready
+        started = true;
+        schedule();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.replicas.retry-interval:PT5S}")
+    public void retry() {
+        if (replicas.all().stream().anyMatch(replica -> !replica.isSynced())) {
+            schedule();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void schedule() {
+        if (started && !replicas.all().isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                scheduled.set(false);
+                replicas.all().forEach(this::sync);
+            });
+        }
+    }
+
+    void sync(Replica replica) {
+        try {
+            if (!replica.isSynced()) {
+                copy(replica);
+            }
+            try {
+                catchUp(replica);
+            } catch (ResyncRequiredException e) {
+                log.warn("Replica {} fell behind the retained changes, copying the catalog again", replica.name());
+                copy(replica);
+                catchUp(replica);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not sync replica {}, reads stay off it until the next attempt: {}",
+                    replica.name(), e.getMessage());
+            replica.applied(Replica.NOT_SYNCED);
+        }
+    }
+
+    private void copy(Replica replica) {
+        replica.applied(Replica.NOT_SYNCED);
+        long start = System.nanoTime();
+        // changes from here on are replayed afterwards, so rows copied mid-write converge
+        long from = changeLog.latest();
+        JdbcTemplate target = new JdbcTemplate(replica.dataSource());
+
+        target.execute("drop table if exists products");
+        for (String statement : primary.queryForList("script nodata table products", String.class)) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                target.execute(statement);
+            }
+        }
+
+        long copied = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Object[]> rows = primary.query(
+                    "select " + COLUMNS + " from products where id > ? order by id limit ?", ROW, lastId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            target.batchUpdate("insert into products (" + COLUMNS + ") values " + VALUES, rows);
+            copied += rows.size();
+            lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        }
+        replica.applied(from);
+        log.info("Copied {} products to {} in {} ms", copied, replica.name(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void catchUp(Replica replica) {
+        JdbcTemplate target = new JdbcTemplate(replica.dataSource());
+        while (true) {
+            List<ChangeEvent> changes = changeLog.since(replica.applied(), batchSize);
+            if (changes.isEmpty()) {
+                return;
+            }
+            // the primary row is at least as new as any change that names it
+            Set<Long> ids = new LinkedHashSet<>();
+            changes.forEach(change -> ids.add(change.product().id()));
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            List<Object[]> rows = primary.query(
+                    "select " + COLUMNS + " from products where id in (" + placeholders + ")", ROW, ids.toArray());
+            target.batchUpdate("merge into products (" + COLUMNS + ") key (id) values " + VALUES, rows);
+            replica.applied(changes.get(changes.size() - 1).sequence());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.phasezero.catalog.repository;
+
+public interface CategoryInventoryView {
+
+    String getCategory();
+
+    long getProducts();
+
+    double getInventoryValue();
+}
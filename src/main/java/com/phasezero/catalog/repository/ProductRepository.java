@@ -1,15 +1,51 @@
 package com.phasezero.catalog.repository;
 
 import com.phasezero.catalog.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsByPartNumber(String partNumber);
 
+    Optional<Product> findByPartNumber(String partNumber);
+
+    @Query("select p.partNumber from Product p where p.partNumber in :partNumbers")
+    List<String> findExistingPartNumbers(@Param("partNumbers") Collection<String> partNumbers);
+
     List<Product> findByPartNameContainingIgnoreCase(String partName);
 
     List<Product> findByCategoryIgnoreCase(String category);
+
+    Slice<Product> findAllBy(Pageable pageable);
+
+    Slice<Product> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAllOrderById();
+
+    @Query("select p from Product p where p.price > :price or (p.price = :price and p.id > :id)")
+    Slice<Product> findByPriceAfter(@Param("price") double price, @Param("id") Long id, Pageable pageable);
+
+    @Query("select coalesce(sum(p.price * p.stock), 0) from Product p")
+    double sumInventoryValue();
+
+    @Query("select lower(p.category) as category, count(p) as products, sum(p.price * p.stock) as inventoryValue "
+            + "from Product p group by lower(p.category) order by lower(p.category)")
+    List<CategoryInventoryView> sumInventoryValueByCategory();
 }
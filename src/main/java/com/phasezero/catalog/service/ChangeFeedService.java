@@ -0,0 +1,18 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.ChangeFeedResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeFeedService {
+
+    /**
+     * Changes after {@code since}; without {@code since}, an empty page positioned at the newest change.
+     */
+    ChangeFeedResponse getChanges(Long since, String epoch, int limit);
+
+    /**
+     * Streams changes after {@code since}/{@code epoch}, or after {@code lastEventId} ({@code epoch:sequence})
+     * on a reconnect; with neither, from the newest change.
+     */
+    SseEmitter streamChanges(Long since, String epoch, String lastEventId);
+}
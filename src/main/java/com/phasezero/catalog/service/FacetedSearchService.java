@@ -0,0 +1,8 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.FacetedSearchResponse;
+
+public interface FacetedSearchService {
+
+    FacetedSearchResponse search(String name, String category, String priceBand, String after, int size);
+}
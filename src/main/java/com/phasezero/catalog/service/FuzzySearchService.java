@@ -0,0 +1,10 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.ScoredProductResponse;
+
+import java.util.List;
+
+public interface FuzzySearchService {
+
+    List<ScoredProductResponse> search(String name, int limit, double minScore);
+}
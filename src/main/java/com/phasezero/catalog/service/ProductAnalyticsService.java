@@ -0,0 +1,16 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.CatalogSummaryResponse;
+import com.phasezero.catalog.dto.CategoryAnalyticsResponse;
+import com.phasezero.catalog.dto.PriceHistogramResponse;
+
+import java.util.List;
+
+public interface ProductAnalyticsService {
+
+    CatalogSummaryResponse getSummary();
+
+    List<CategoryAnalyticsResponse> getCategoryAnalytics();
+
+    PriceHistogramResponse getPriceHistogram(String category, int buckets);
+}
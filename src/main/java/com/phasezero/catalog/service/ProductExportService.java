@@ -0,0 +1,11 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    long exportProducts(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.BulkImportResult;
+import com.phasezero.catalog.dto.ProductRequest;
+
+import java.util.Iterator;
+
+public interface ProductImportService {
+
+    BulkImportResult importProducts(Iterator<ProductRequest> requests);
+}
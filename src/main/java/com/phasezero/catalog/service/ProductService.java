@@ -1,5 +1,7 @@
 package com.phasezero.catalog.service;
 
+import com.phasezero.catalog.dto.CategoryInventoryResponse;
+import com.phasezero.catalog.dto.CursorPage;
 import com.phasezero.catalog.dto.ProductRequest;
 import com.phasezero.catalog.dto.ProductResponse;
 
@@ -11,12 +13,20 @@ public interface ProductService {
 
     List<ProductResponse> getAllProducts(int page, int size);
 
+    CursorPage<ProductResponse> getProductsAfter(String after, int size);
+
+    ProductResponse getProductById(Long id);
+
+    ProductResponse getProductByPartNumber(String partNumber);
+
 
     List<ProductResponse> searchByName(String name);
 
     List<ProductResponse> filterByCategory(String category);
 
-    List<ProductResponse> sortByPriceAscending();
+    CursorPage<ProductResponse> sortByPriceAscending(String after, int size);
 
     double getTotalInventoryValue();
+
+    List<CategoryInventoryResponse> getInventoryValueByCategory();
 }
@@ -0,0 +1,19 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.StockAdjustment;
+import com.phasezero.catalog.dto.StockAdjustmentResult;
+import com.phasezero.catalog.dto.StockLevelResponse;
+
+import java.util.List;
+
+public interface StockService {
+
+    StockLevelResponse adjustStock(String partNumber, int delta, boolean sync);
+
+    List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments, boolean sync);
+
+    /**
+     * Writes all pending deltas to the database and returns the number of products updated.
+     */
+    int flush();
+}
@@ -0,0 +1,10 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.SuggestionResponse;
+
+import java.util.List;
+
+public interface SuggestService {
+
+    List<SuggestionResponse> suggest(String prefix, int limit);
+}
@@ -0,0 +1,72 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.ChangeFeedResponse;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.feed.ChangeStream;
+import com.phasezero.catalog.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private final ChangeLog changeLog;
+    private final ChangeStream changeStream;
+    private final CatalogProperties properties;
+
+    @Override
+    public ChangeFeedResponse getChanges(Long since, String epoch, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        log.debug("Fetching changes since={} epoch={} limit={}", since, epoch, limit);
+
+        String current = changeLog.epoch();
+        if (since == null) {
+            long latest = changeLog.latest();
+            return new ChangeFeedResponse(current, latest, latest, false, List.of());
+        }
+        if (!epochMatches(epoch)) {
+            throw new ResyncRequiredException("Cursor belongs to epoch '" + epoch + "', the catalog is now at '"
+                    + current + "'; reload the catalog, then follow from the current position");
+        }
+
+        List<ChangeEvent> changes = changeLog.since(since, Math.min(limit, properties.getChanges().getMaxPageSize()));
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence();
+        long latest = changeLog.latest();
+        return new ChangeFeedResponse(current, next, latest, next < latest, changes);
+    }
+
+    @Override
+    public SseEmitter streamChanges(Long since, String epoch, String lastEventId) {
+        log.debug("Opening change stream since={} epoch={} lastEventId={}", since, epoch, lastEventId);
+        if (since != null) {
+            return changeStream.subscribe(since, epochMatches(epoch));
+        }
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return changeStream.subscribe(changeLog.latest(), true);
+        }
+        // event ids are 'epoch:sequence', see ChangeStream#eventId; anything else cannot be resumed
+        int separator = lastEventId.lastIndexOf(':');
+        try {
+            long sequence = Long.parseLong(lastEventId.substring(separator + 1));
+            return changeStream.subscribe(sequence, separator > 0 && epochMatches(lastEventId.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            return changeStream.subscribe(changeLog.latest(), false);
+        }
+    }
+
+    // sequences restart with the process, so a cursor means nothing without the epoch it came from
+    private boolean epochMatches(String epoch) {
+        return epoch != null && epoch.equals(changeLog.epoch());
+    }
+}
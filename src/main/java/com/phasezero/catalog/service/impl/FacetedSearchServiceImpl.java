@@ -0,0 +1,92 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.FacetCount;
+import com.phasezero.catalog.dto.FacetedSearchResponse;
+import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.FacetIndex;
+import com.phasezero.catalog.index.FacetIndex.FacetResult;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.FacetedSearchService;
+import com.phasezero.catalog.util.CursorUtil;
+import com.phasezero.catalog.util.StringUtil;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class FacetedSearchServiceImpl implements FacetedSearchService {
+
+    private final FacetIndex facetIndex;
+    private final ProductSearchIndex searchIndex;
+    private final ProductRepository productRepository;
+    private final CatalogProperties properties;
+
+    @Override
+    public FacetedSearchResponse search(String name, String category, String priceBand, String after, int size) {
+        int maxSize = properties.getSearch().getMaxLimit();
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxSize);
+        }
+        String nameQuery = blankToNull(name);
+        String categoryFilter = blankToNull(category);
+        int band = blankToNull(priceBand) == null ? -1 : facetIndex.priceBand(priceBand.trim());
+        long afterId = after == null ? -1 : CursorUtil.decodeId(after);
+        log.debug("Faceted search name='{}', category='{}', priceBand='{}', after={}, size={}",
+                nameQuery, categoryFilter, priceBand, afterId, size);
+
+        // facets need every match, so a database fallback would mean scanning the table
+        if (!facetIndex.isReady() || (nameQuery != null && !searchIndex.isReady())) {
+            throw new CatalogNotReadyException("Facet index is still building, retry shortly");
+        }
+
+        RoaringBitmap names = null;
+        if (nameQuery != null) {
+            names = new RoaringBitmap();
+            for (Long id : searchIndex.search(StringUtil.normalizeName(nameQuery))) {
+                names.add(Math.toIntExact(id));
+            }
+        }
+        FacetResult result = facetIndex.query(names, categoryFilter, band);
+
+        List<Long> ids = result.page(afterId, size + 1);
+        String nextCursor = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            nextCursor = CursorUtil.encodeId(ids.get(size - 1));
+        }
+        List<ProductResponse> items = ids.isEmpty() ? List.of() : productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .map(product -> ProductMapper.toResponse(product))
+                .collect(Collectors.toList());
+
+        List<FacetCount> categories = new ArrayList<>(result.categoryCounts().size());
+        result.categoryCounts().forEach((value, count) -> categories.add(new FacetCount(value, count)));
+        List<String> bandLabels = facetIndex.priceBands();
+        List<FacetCount> priceBands = new ArrayList<>(bandLabels.size());
+        for (int i = 0; i < bandLabels.size(); i++) {
+            priceBands.add(new FacetCount(bandLabels.get(i), result.bandCounts()[i]));
+        }
+
+        return new FacetedSearchResponse(result.matches().getLongCardinality(), items, nextCursor,
+                categories, priceBands);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,70 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ScoredProductResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.FuzzySearchService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class FuzzySearchServiceImpl implements FuzzySearchService {
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductRepository productRepository;
+    private final CatalogProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScoredProductResponse> search(String name, int limit, double minScore) {
+        int maxLimit = properties.getSearch().getMaxLimit();
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (!(minScore > 0 && minScore <= 1)) {
+            throw new IllegalArgumentException("minScore must be greater than 0 and at most 1");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        log.debug("Fuzzy search name='{}', limit={}, minScore={}", name, limit, minScore);
+
+        // without the index this would mean scoring every name in the table
+        if (!searchIndex.isReady()) {
+            throw new CatalogNotReadyException("Search index is still building, retry shortly");
+        }
+
+        List<ProductSearchIndex.Match> matches = searchIndex.fuzzySearch(name, limit, minScore);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = productRepository.findAllById(
+                        matches.stream().map(ProductSearchIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<ScoredProductResponse> result = new ArrayList<>(matches.size());
+        for (ProductSearchIndex.Match match : matches) {
+            Product product = products.get(match.id());
+            if (product != null) {
+                result.add(new ScoredProductResponse(ProductMapper.toResponse(product), match.score()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.dto.CatalogSummaryResponse;
+import com.phasezero.catalog.dto.CategoryAnalyticsResponse;
+import com.phasezero.catalog.dto.PriceHistogramResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.ColumnarSnapshot;
+import com.phasezero.catalog.index.ColumnarSnapshot.CategoryStats;
+import com.phasezero.catalog.index.ColumnarSnapshot.PriceHistogram;
+import com.phasezero.catalog.service.ProductAnalyticsService;
+import com.phasezero.catalog.util.StringUtil;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class ProductAnalyticsServiceImpl implements ProductAnalyticsService {
+
+    static final int MAX_BUCKETS = 1000;
+
+    private final ColumnarSnapshot snapshot;
+
+    @Override
+    public CatalogSummaryResponse getSummary() {
+        List<CategoryStats> categories = categoryStats();
+
+        long products = 0;
+        long stock = 0;
+        double value = 0.0;
+        double priceSum = 0.0;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        for (CategoryStats stats : categories) {
+            products += stats.products();
+            stock += stats.stock();
+            value += stats.inventoryValue();
+            priceSum += stats.priceSum();
+            minPrice = Math.min(minPrice, stats.minPrice());
+            maxPrice = Math.max(maxPrice, stats.maxPrice());
+        }
+        if (products == 0) {
+            return new CatalogSummaryResponse(0, 0, 0, 0.0, 0.0, 0.0, 0.0);
+        }
+        return new CatalogSummaryResponse(products, categories.size(), stock, value,
+                minPrice, maxPrice, priceSum / products);
+    }
+
+    @Override
+    public List<CategoryAnalyticsResponse> getCategoryAnalytics() {
+        return categoryStats().stream()
+                .map(stats -> new CategoryAnalyticsResponse(stats.category(), stats.products(), stats.stock(),
+                        stats.inventoryValue(), stats.minPrice(), stats.maxPrice(),
+                        stats.priceSum() / stats.products()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PriceHistogramResponse getPriceHistogram(String category, int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + MAX_BUCKETS);
+        }
+        String categoryTrimmed = category == null || category.isBlank() ? null : StringUtil.trim(category);
+        log.debug("Building price histogram category={}, buckets={}", categoryTrimmed, buckets);
+        requireReady();
+
+        PriceHistogram histogram = snapshot.priceHistogram(categoryTrimmed, buckets);
+        double width = histogram.width();
+        List<PriceHistogramResponse.Bucket> result = new ArrayList<>(histogram.buckets());
+        for (int i = 0; i < histogram.buckets(); i++) {
+            double lower = histogram.minPrice() + i * width;
+            double upper = i == histogram.buckets() - 1 ? histogram.maxPrice() : lower + width;
+            result.add(new PriceHistogramResponse.Bucket(lower, upper, histogram.products()[i], histogram.stock()[i]));
+        }
+        return new PriceHistogramResponse(categoryTrimmed, histogram.minPrice(), histogram.maxPrice(), width, result);
+    }
+
+    private List<CategoryStats> categoryStats() {
+        requireReady();
+        return snapshot.categoryStats();
+    }
+
+    // reports never fall back to the database; callers retry once the rebuild has finished
+    private void requireReady() {
+        if (!snapshot.isReady()) {
+            throw new CatalogNotReadyException("Analytics snapshot is still building, retry shortly");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.phasezero.catalog.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ExportFormat;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.replica.ReplicaSet;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.ProductExportService;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class ProductExportServiceImpl implements ProductExportService {
+
+    static final String CSV_HEADER = "id,partNumber,partName,category,price,stock";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final CatalogProperties properties;
+    private final ReplicaSet replicas;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == ExportFormat.CSV ? csv(writer) : ndjson(writer);
+
+        long exported;
+        // nothing caches an export, so a replica within max-lag may serve it
+        try (ReplicaSet.LagScope lag = replicas.tolerateLag();
+             Stream<Product> products = productRepository.streamAllOrderById()) {
+            exported = writeAll(products.iterator(), rows, writer);
+        }
+        writer.flush();
+
+        log.info("Exported {} products as {} in {} ms",
+                exported, format, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private long writeAll(Iterator<Product> products, RowWriter rows, Writer writer) throws IOException {
+        int clearInterval = properties.getExport().getClearInterval();
+        long count = 0;
+        while (products.hasNext()) {
+            rows.write(products.next());
+            count++;
+            if (count % clearInterval == 0) {
+                // keep the persistence context (and heap) flat regardless of catalog size
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private RowWriter ndjson(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+        return product -> {
+            generator.writeObject(ProductMapper.toResponse(product));
+            generator.flush();
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter csv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return product -> {
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writer.write(csvField(product.getPartNumber()));
+            writer.write(',');
+            writer.write(csvField(product.getPartName()));
+            writer.write(',');
+            writer.write(csvField(product.getCategory()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getPrice()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getStock()));
+            writer.write('\n');
+        };
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Product product) throws IOException;
+    }
+}
@@ -0,0 +1,266 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.BulkImportResult;
+import com.phasezero.catalog.dto.BulkImportRowResult;
+import com.phasezero.catalog.dto.BulkImportRowResult.Status;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.ProductRequest;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.ProductImportService;
+import com.phasezero.catalog.util.StringUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String PART_NUMBER_KEY = "uk_part_number";
+
+    private final ProductRepository productRepository;
+    private final CatalogIndexManager indexManager;
+    private final PartNumberFilter partNumberFilter;
+    private final CatalogCaches catalogCaches;
+    private final ProductNearCache nearCache;
+    private final CatalogVersion catalogVersion;
+    private final ChangeLog changeLog;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final CatalogProperties properties;
+
+    @Override
+    public BulkImportResult importProducts(Iterator<ProductRequest> requests) {
+        long start = System.nanoTime();
+        CatalogProperties.Bulk settings = properties.getBulk();
+        ImportRun run = new ImportRun();
+
+        if (settings.isTransactionPerChunk()) {
+            readChunks(requests, settings.getChunkSize(), run, true);
+        } else {
+            // a single transaction: any database failure rolls back the whole import
+            indexManager.runShared(() -> {
+                transactionTemplate.executeWithoutResult(status ->
+                        readChunks(requests, settings.getChunkSize(), run, false));
+                indexSaved(run);
+            });
+        }
+        // products committed together with the outer transaction
+        publish(run);
+
+        BulkImportResult result = run.result();
+        log.info("Bulk import finished: total={}, created={}, failed={} in {} ms",
+                result.total(), result.created(), result.failed(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void readChunks(Iterator<ProductRequest> requests, int chunkSize, ImportRun run, boolean commitEach) {
+        List<ProductRequest> chunk = new ArrayList<>(chunkSize);
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, run, commitEach);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run, commitEach);
+        }
+    }
+
+    private void importChunk(List<ProductRequest> chunk, ImportRun run, boolean commitEach) {
+        int baseIndex = run.rows.size();
+        List<PendingRow> pending = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ProductRequest request = chunk.get(i);
+            int index = baseIndex + i;
+            String partNumber = StringUtil.trim(request.partNumber());
+
+            Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                String error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                run.rows.add(new BulkImportRowResult(index, partNumber, Status.INVALID, null, error));
+            } else if (!run.seen.add(partNumber)) {
+                run.rows.add(duplicate(index, partNumber, "duplicated earlier in this import"));
+            } else {
+                run.rows.add(null);
+                pending.add(new PendingRow(index, partNumber, ProductMapper.toEntity(request)));
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // one set-based lookup per chunk, limited to the part numbers the filter cannot rule out
+        List<String> possible = pending.stream()
+                .map(PendingRow::partNumber)
+                .filter(partNumberFilter::mightContain)
+                .collect(Collectors.toList());
+        Set<String> existing = possible.isEmpty()
+                ? Set.of()
+                : new HashSet<>(productRepository.findExistingPartNumbers(possible));
+        if (partNumberFilter.isReady()) {
+            possible.stream().filter(partNumber -> !existing.contains(partNumber))
+                    .forEach(partNumber -> partNumberFilter.falsePositive());
+        }
+        List<PendingRow> toInsert = new ArrayList<>(pending.size());
+        for (PendingRow row : pending) {
+            if (existing.contains(row.partNumber())) {
+                run.rows.set(row.index(), duplicate(row.index(), row.partNumber(), "already exists"));
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        if (commitEach) {
+            // commit and index together, so a rebuild or reconciliation never sees only one of them
+            indexManager.runShared(() -> {
+                insertInOwnTransaction(toInsert, run);
+                indexSaved(run);
+            });
+            publish(run);
+        } else {
+            insert(toInsert, run);
+            entityManager.clear();
+        }
+    }
+
+    private void indexSaved(ImportRun run) {
+        for (Product product : run.saved) {
+            indexManager.productSaved(product);
+        }
+    }
+
+    private void publish(ImportRun run) {
+        if (run.saved.isEmpty()) {
+            return;
+        }
+        for (Product product : run.saved) {
+            nearCache.forgetMiss(product);
+        }
+        // appended before the eviction so replicas count as behind until they have the chunk
+        for (Product product : run.saved) {
+            changeLog.append(ChangeEvent.Operation.CREATED, product);
+        }
+        // cheaper than per-product targeted eviction for a whole chunk
+        catalogCaches.evictAll();
+        catalogVersion.bump();
+        run.saved.clear();
+    }
+
+    private void insertInOwnTransaction(List<PendingRow> rows, ImportRun run) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(rows));
+            markCreated(rows, run);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer took one of the part numbers, or a row breaks another constraint;
+            // retry row by row to pinpoint it
+            log.warn("Batch insert of {} products failed, retrying individually: {}", rows.size(), e.getMessage());
+            for (PendingRow row : rows) {
+                row.product().setId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                    markCreated(List.of(row), run);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    run.rows.set(row.index(), rejected(row.index(), row.partNumber(), rowFailure));
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingRow> rows, ImportRun run) {
+        persist(rows);
+        markCreated(rows, run);
+    }
+
+    private void persist(List<PendingRow> rows) {
+        productRepository.saveAll(rows.stream().map(PendingRow::product).collect(Collectors.toList()));
+        productRepository.flush();
+    }
+
+    private static void markCreated(List<PendingRow> rows, ImportRun run) {
+        for (PendingRow row : rows) {
+            Product saved = row.product();
+            run.saved.add(saved);
+            run.rows.set(row.index(),
+                    new BulkImportRowResult(row.index(), row.partNumber(), Status.CREATED, saved.getId(), null));
+        }
+    }
+
+    private static BulkImportRowResult rejected(int index, String partNumber, DataIntegrityViolationException e) {
+        if (violatesPartNumberKey(e)) {
+            return duplicate(index, partNumber, "already exists");
+        }
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        log.warn("Import row {} (partNumber={}) rejected by the database: {}", index, partNumber, cause);
+        // the driver's message goes on with the SQL statement after its first line
+        String reason = cause == null ? e.getClass().getSimpleName() : cause.lines().findFirst().orElse(cause);
+        return new BulkImportRowResult(index, partNumber, Status.INVALID, null, "Rejected by the database: " + reason);
+    }
+
+    private static boolean violatesPartNumberKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                        && constraint != null && constraint.toLowerCase(Locale.ROOT).contains(PART_NUMBER_KEY);
+            }
+        }
+        return false;
+    }
+
+    private static BulkImportRowResult duplicate(int index, String partNumber, String reason) {
+        return new BulkImportRowResult(index, partNumber, Status.DUPLICATE, null,
+                "Product with partNumber '" + partNumber + "' " + reason);
+    }
+
+    private record PendingRow(int index, String partNumber, Product product) {}
+
+    private static final class ImportRun {
+        private final List<BulkImportRowResult> rows = new ArrayList<>();
+        private final Set<String> seen = new HashSet<>();
+        private final List<Product> saved = new ArrayList<>();
+
+        private BulkImportResult result() {
+            int created = 0;
+            for (BulkImportRowResult row : rows) {
+                if (row.status() == Status.CREATED) {
+                    created++;
+                }
+            }
+            return new BulkImportResult(rows.size(), created, rows.size() - created, rows);
+        }
+    }
+}
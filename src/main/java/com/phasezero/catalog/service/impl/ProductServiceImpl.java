@@ -1,36 +1,73 @@
 package com.phasezero.catalog.service.impl;
 
+import com.phasezero.catalog.cache.CacheMissCoalescer;
+import com.phasezero.catalog.cache.CacheNames;
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.dto.CategoryInventoryResponse;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.CursorPage;
 import com.phasezero.catalog.dto.ProductRequest;
 import com.phasezero.catalog.dto.ProductResponse;
 import com.phasezero.catalog.exception.ProductAlreadyExistsException;
+import com.phasezero.catalog.exception.ResourceNotFoundException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.index.InventoryAggregates;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.index.ProductSearchIndex;
 import com.phasezero.catalog.mapper.ProductMapper;
+import com.phasezero.catalog.metrics.CatalogMetrics;
 import com.phasezero.catalog.model.Product;
 import com.phasezero.catalog.repository.ProductRepository;
 import com.phasezero.catalog.service.ProductService;
+import com.phasezero.catalog.util.CursorUtil;
+import com.phasezero.catalog.util.StringUtil;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @AllArgsConstructor
 @Service
+@Timed(value = "catalog.service", histogram = true)
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchIndex searchIndex;
+    private final InventoryAggregates inventoryAggregates;
+    private final CatalogIndexManager indexManager;
+    private final CatalogCaches catalogCaches;
+    private final CacheMissCoalescer missCoalescer;
+    private final CatalogMetrics catalogMetrics;
+    private final PartNumberFilter partNumberFilter;
+    private final ProductNearCache nearCache;
+    private final CatalogVersion catalogVersion;
+    private final ChangeLog changeLog;
 
+    @PostConstruct
+    void registerCacheRefreshers() {
+        catalogCaches.registerRefresher(CacheNames.PRODUCTS_BY_NAME, key -> search((String) key));
+        catalogCaches.registerRefresher(CacheNames.PRODUCTS_BY_CATEGORY, key -> findByCategory((String) key));
+    }
 
     @Override
-    @CacheEvict(value = {"sortedByPrice", "inventoryValue"}, allEntries = true)
     public ProductResponse addProduct(ProductRequest request) {
         log.info("Adding product with partNumber={}", request.partNumber());
 
@@ -47,17 +84,33 @@ public class ProductServiceImpl implements ProductService {
 
         String partNumberTrimmed = request.partNumber().trim();
 
-        if (productRepository.existsByPartNumber(partNumberTrimmed)) {
-            log.warn("Product with partNumber={} already exists (pre-check)", partNumberTrimmed);
-            throw new ProductAlreadyExistsException(
-                    "Product with partNumber '" + partNumberTrimmed + "' already exists");
+        // a definite negative skips the round trip; the unique constraint still catches races
+        if (partNumberFilter.mightContain(partNumberTrimmed)) {
+            if (productRepository.existsByPartNumber(partNumberTrimmed)) {
+                log.warn("Product with partNumber={} already exists (pre-check)", partNumberTrimmed);
+                throw new ProductAlreadyExistsException(
+                        "Product with partNumber '" + partNumberTrimmed + "' already exists");
+            }
+            if (partNumberFilter.isReady()) {
+                partNumberFilter.falsePositive();
+            }
         }
 
         Product product = ProductMapper.toEntity(request);
 
         try {
-            Product saved = productRepository.save(product);
+            // a rebuild or reconciliation in between would read the new row and then index it a second time
+            Product saved = indexManager.callShared(() -> {
+                Product row = productRepository.save(product);
+                indexManager.productSaved(row);
+                return row;
+            });
             log.info("Product saved id={} partNumber={}", saved.getId(), saved.getPartNumber());
+            // the write sequence moves first, so a cache refilled after the eviction never reads a lagging replica
+            changeLog.append(ChangeEvent.Operation.CREATED, saved);
+            catalogCaches.productSaved(saved);
+            nearCache.put(saved);
+            catalogVersion.bump();
             return ProductMapper.toResponse(saved);
         } catch (DataIntegrityViolationException e) {
             log.error("DataIntegrityViolation when saving partNumber={}", partNumberTrimmed);
@@ -67,57 +120,161 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts(int page, int size) {
         log.debug("Fetching products with pagination page={}, size={}", page, size);
 
         // Build Pageable (can also add default sort if you want consistent order)
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"));
 
-        Page<Product> productPage = productRepository.findAll(pageable);
+        // Slice skips the count(*) query a Page would need
+        Slice<Product> productSlice = productRepository.findAllBy(pageable);
 
         // Only map current page content to DTOs
-        return productPage.getContent().stream()
+        return productSlice.getContent().stream()
                 .map(product -> ProductMapper.toResponse(product))
                 .collect(Collectors.toList());
     }
 
     @Override
+    public CursorPage<ProductResponse> getProductsAfter(String after, int size) {
+        log.debug("Fetching products after cursor={}, size={}", after, size);
+
+        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        Slice<Product> slice = after == null
+                ? productRepository.findAllBy(pageable)
+                : productRepository.findByIdGreaterThan(CursorUtil.decodeId(after), pageable);
+
+        return toCursorPage(slice, product -> CursorUtil.encodeId(product.getId()));
+    }
+
+    @Override
+    public ProductResponse getProductById(Long id) {
+        log.debug("Fetching product id={}", id);
+        return nearCache.getById(id, productRepository::findById)
+                .orElseThrow(() -> new ResourceNotFoundException("No product found with id: " + id));
+    }
+
+    @Override
+    public ProductResponse getProductByPartNumber(String partNumber) {
+        String partNumberTrimmed = StringUtil.trim(partNumber);
+        log.debug("Fetching product partNumber={}", partNumberTrimmed);
+
+        // the filter answers most unknown part numbers before the near-cache is consulted
+        if (!partNumberFilter.mightContain(partNumberTrimmed)) {
+            throw new ResourceNotFoundException("No product found with partNumber: " + partNumberTrimmed);
+        }
+        return nearCache.getByPartNumber(partNumberTrimmed, productRepository::findByPartNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("No product found with partNumber: " + partNumberTrimmed));
+    }
+
+    @Override
+    @Cacheable(value = CacheNames.PRODUCTS_BY_NAME,
+            key = "T(com.phasezero.catalog.util.StringUtil).normalizeName(#name)")
+    @Transactional(readOnly = true)
     public List<ProductResponse> searchByName(String name) {
         log.debug("Searching products by name containing '{}'", name);
-        List<Product> products = productRepository.findByPartNameContainingIgnoreCase(name);
-        return products.stream()
-                .map(product -> ProductMapper.toResponse(product))
-                .collect(Collectors.toList());
+        String query = StringUtil.normalizeName(name);
+        return missCoalescer.execute(CacheNames.PRODUCTS_BY_NAME, query, () -> search(query));
     }
 
     @Override
+    @Cacheable(value = CacheNames.PRODUCTS_BY_CATEGORY,
+            key = "T(com.phasezero.catalog.util.StringUtil).normalizeName(#category)")
+    @Transactional(readOnly = true)
     public List<ProductResponse> filterByCategory(String category) {
         log.debug("Filtering products by category='{}'", category);
-        List<Product> products = productRepository.findByCategoryIgnoreCase(category);
-        return products.stream()
+        String key = StringUtil.normalizeName(category);
+        return missCoalescer.execute(CacheNames.PRODUCTS_BY_CATEGORY, key, () -> findByCategory(key));
+    }
+
+    private List<ProductResponse> search(String name) {
+        if (!searchIndex.isReady()) {
+            log.debug("Search index still building, falling back to database scan");
+            return productRepository.findByPartNameContainingIgnoreCase(name).stream()
+                    .map(product -> ProductMapper.toResponse(product))
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> ids = searchIndex.search(name);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Product::getId))
                 .map(product -> ProductMapper.toResponse(product))
                 .collect(Collectors.toList());
     }
 
-    @Override
-    @Cacheable("sortedByPrice")
-    public List<ProductResponse> sortByPriceAscending() {
-        log.info("Fetching products sorted by price (may hit cache)");
-        List<Product> products = productRepository.findAll(Sort.by(Sort.Direction.ASC, "price"));
+    private List<ProductResponse> findByCategory(String category) {
+        List<Product> products = productRepository.findByCategoryIgnoreCase(category);
         return products.stream()
                 .map(product -> ProductMapper.toResponse(product))
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Cacheable("inventoryValue")
+    @Cacheable(CacheNames.SORTED_BY_PRICE)
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> sortByPriceAscending(String after, int size) {
+        log.info("Fetching products sorted by price after cursor={}, size={} (may hit cache)", after, size);
+        return missCoalescer.execute(CacheNames.SORTED_BY_PRICE, new SimpleKey(after, size),
+                () -> findSortedByPrice(after, size));
+    }
+
+    private CursorPage<ProductResponse> findSortedByPrice(String after, int size) {
+        Pageable pageable = PageRequest.of(0, size,
+                Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id")));
+        Slice<Product> slice;
+        if (after == null) {
+            slice = productRepository.findAllBy(pageable);
+        } else {
+            CursorUtil.PriceCursor cursor = CursorUtil.decodePrice(after);
+            slice = productRepository.findByPriceAfter(cursor.price(), cursor.id(), pageable);
+        }
+
+        return toCursorPage(slice, product -> CursorUtil.encodePrice(product.getPrice(), product.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public double getTotalInventoryValue() {
-        log.info("Calculating total inventory value (may hit cache)");
-        List<Product> products = productRepository.findAll();
-        double value = products.stream()
-                .mapToDouble(p -> p.getPrice() * p.getStock())
-                .sum();
+        boolean ready = inventoryAggregates.isReady();
+        catalogMetrics.inventoryRead(ready);
+        if (ready) {
+            return inventoryAggregates.totalValue();
+        }
+        log.info("Inventory aggregates still building, calculating total inventory value in database");
+        double value = missCoalescer.execute(CacheNames.INVENTORY_VALUE, "total",
+                () -> productRepository.sumInventoryValue());
         log.debug("Total inventory value={}", value);
         return value;
     }
+
+    @Override
+    public List<CategoryInventoryResponse> getInventoryValueByCategory() {
+        boolean ready = inventoryAggregates.isReady();
+        catalogMetrics.inventoryRead(ready);
+        if (ready) {
+            return inventoryAggregates.byCategory();
+        }
+        log.info("Inventory aggregates still building, calculating category totals in database");
+        return missCoalescer.execute(CacheNames.INVENTORY_VALUE, "byCategory",
+                () -> productRepository.sumInventoryValueByCategory().stream()
+                        .map(view -> new CategoryInventoryResponse(
+                                view.getCategory(), view.getProducts(), view.getInventoryValue()))
+                        .collect(Collectors.toList()));
+    }
+
+    private static CursorPage<ProductResponse> toCursorPage(Slice<Product> slice,
+                                                            Function<Product, String> cursorOf) {
+        List<Product> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1))
+                : null;
+        List<ProductResponse> items = content.stream()
+                .map(product -> ProductMapper.toResponse(product))
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, nextCursor);
+    }
 }
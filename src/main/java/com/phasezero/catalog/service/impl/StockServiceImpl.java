@@ -0,0 +1,342 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.StockAdjustment;
+import com.phasezero.catalog.dto.StockAdjustmentResult;
+import com.phasezero.catalog.dto.StockAdjustmentResult.Status;
+import com.phasezero.catalog.dto.StockLevelResponse;
+import com.phasezero.catalog.exception.InsufficientStockException;
+import com.phasezero.catalog.exception.ResourceNotFoundException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.StockService;
+import com.phasezero.catalog.util.StringUtil;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies stock adjustments in memory and writes them behind to the database. Each product has
+ * its own counter, so adjustments to different products never contend, and all adjustments to a
+ * product between two flushes become a single {@code stock = stock + ?} update.
+ */
+@Slf4j
+@Service
+@Timed(value = "catalog.service", histogram = true)
+public class StockServiceImpl implements StockService {
+
+    private static final String FLUSH_SQL = "update products set stock = stock + ? where id = ?";
+    // available stock of a cell dropped from the map; stock itself never goes below zero
+    private static final int RETIRED = -1;
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogIndexManager indexManager;
+    private final CatalogCaches catalogCaches;
+    private final ProductNearCache nearCache;
+    private final CatalogVersion catalogVersion;
+    private final ChangeLog changeLog;
+    private final CatalogProperties properties;
+
+    private final Map<String, StockCell> cells = new ConcurrentHashMap<>();
+    private final Set<StockCell> dirty = ConcurrentHashMap.newKeySet();
+    // one flush at a time, so a cell's persisted stock only moves under this lock
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder flushedProducts = new LongAdder();
+
+    public StockServiceImpl(ProductRepository productRepository,
+                            JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            CatalogIndexManager indexManager,
+                            CatalogCaches catalogCaches,
+                            ProductNearCache nearCache,
+                            CatalogVersion catalogVersion,
+                            ChangeLog changeLog,
+                            CatalogProperties properties) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.indexManager = indexManager;
+        this.catalogCaches = catalogCaches;
+        this.nearCache = nearCache;
+        this.catalogVersion = catalogVersion;
+        this.changeLog = changeLog;
+        this.properties = properties;
+    }
+
+    @Override
+    public StockLevelResponse adjustStock(String partNumber, int delta, boolean sync) {
+        String partNumberTrimmed = StringUtil.trim(partNumber);
+        log.debug("Adjusting stock of partNumber={} by {} (sync={})", partNumberTrimmed, delta, sync);
+
+        Applied applied = apply(partNumberTrimmed, delta);
+        if (sync) {
+            flush();
+        }
+        Product product = applied.cell().product;
+        return new StockLevelResponse(product.getId(), product.getPartNumber(), applied.stock(),
+                applied.cell().pending.sum());
+    }
+
+    @Override
+    public List<StockAdjustmentResult> adjustStock(List<StockAdjustment> adjustments, boolean sync) {
+        log.debug("Adjusting stock of {} products (sync={})", adjustments.size(), sync);
+
+        List<StockAdjustmentResult> results = new ArrayList<>(adjustments.size());
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustment adjustment = adjustments.get(i);
+            String partNumber = StringUtil.trim(adjustment.partNumber());
+            try {
+                int stock = apply(partNumber, adjustment.delta()).stock();
+                results.add(new StockAdjustmentResult(i, partNumber, Status.APPLIED, stock, null));
+            } catch (ResourceNotFoundException e) {
+                results.add(new StockAdjustmentResult(i, partNumber, Status.NOT_FOUND, null, e.getMessage()));
+            } catch (InsufficientStockException e) {
+                results.add(new StockAdjustmentResult(i, partNumber, Status.INSUFFICIENT_STOCK, null, e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                results.add(new StockAdjustmentResult(i, partNumber, Status.INVALID, null, e.getMessage()));
+            }
+        }
+        if (sync) {
+            flush();
+        }
+        return results;
+    }
+
+    @Scheduled(initialDelayString = "${catalog.stock.max-staleness:PT1S}",
+            fixedDelayString = "${catalog.stock.max-staleness:PT1S}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Stock flush failed, {} products stay pending: {}", dirty.size(), e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int flushed = flush();
+        log.info("Flushed pending stock of {} products on shutdown", flushed);
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<StockCell> visited = new ArrayList<>();
+            List<Drained> drained = drain(visited);
+            if (drained.isEmpty()) {
+                retire(visited);
+                return 0;
+            }
+            // the reconciler must not compare totals between the update and the aggregates catching up
+            indexManager.runShared(() -> {
+                try {
+                    write(drained);
+                } catch (RuntimeException e) {
+                    // nothing was committed, so the deltas go back to their cells for the next flush
+                    for (Drained entry : drained) {
+                        entry.cell.pending.add(entry.delta);
+                        dirty.add(entry.cell);
+                    }
+                    throw e;
+                }
+                applyToIndexes(drained);
+            });
+            // appended before the eviction so replicas count as behind until they have the flush
+            for (Drained entry : drained) {
+                changeLog.append(ChangeEvent.Operation.UPDATED, entry.cell.withStock(entry.cell.persisted));
+            }
+            for (Drained entry : drained) {
+                catalogCaches.productSaved(entry.cell.product);
+                nearCache.evict(entry.cell.product);
+            }
+            catalogVersion.bump();
+            retire(visited);
+            flushedProducts.add(drained.size());
+            log.debug("Flushed stock deltas of {} products", drained.size());
+            return drained.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Products with adjustments not yet written to the database.
+     */
+    public int pendingProducts() {
+        return dirty.size();
+    }
+
+    public long flushedProducts() {
+        return flushedProducts.sum();
+    }
+
+    // a cell retired by a concurrent flush is replaced from the database and the adjustment retried
+    private Applied apply(String partNumber, int delta) {
+        while (true) {
+            StockCell cell = cell(partNumber);
+            int stock = cell.adjust(delta);
+            if (stock != RETIRED) {
+                return new Applied(cell, stock);
+            }
+        }
+    }
+
+    private StockCell cell(String partNumber) {
+        if (partNumber == null || partNumber.isEmpty()) {
+            throw new IllegalArgumentException("partNumber is required");
+        }
+        StockCell cell = cells.get(partNumber);
+        if (cell != null) {
+            return cell;
+        }
+        // no cell means nothing pending, so the stored stock is current
+        Product product = productRepository.findByPartNumber(partNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("No product found with partNumber: " + partNumber));
+        return cells.computeIfAbsent(partNumber, key -> new StockCell(key, product));
+    }
+
+    private List<Drained> drain(List<StockCell> visited) {
+        List<Drained> drained = new ArrayList<>();
+        for (StockCell cell : dirty) {
+            // removed before reading, so a concurrent adjustment either is read here or marks the cell again
+            dirty.remove(cell);
+            visited.add(cell);
+            long delta = cell.pending.sum();
+            if (delta != 0) {
+                cell.pending.add(-delta);
+                drained.add(new Drained(cell, delta));
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Drops the flushed cells that hold nothing the database lacks, so only products adjusted since
+     * the last flush stay in memory. Runs under the flush lock, so {@code persisted} is stable.
+     */
+    private void retire(List<StockCell> visited) {
+        for (StockCell cell : visited) {
+            // an adjustment in flight is already pending, or its compare-and-set on available fails here
+            if (cell.pending.sum() == 0 && cell.available.compareAndSet(cell.persisted, RETIRED)) {
+                cells.remove(cell.key, cell);
+            }
+        }
+    }
+
+    private void write(List<Drained> drained) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(FLUSH_SQL, drained, properties.getStock().getFlushBatchSize(),
+                        (ps, entry) -> {
+                            ps.setLong(1, entry.delta);
+                            ps.setLong(2, entry.cell.product.getId());
+                        }));
+    }
+
+    private void applyToIndexes(List<Drained> drained) {
+        for (Drained entry : drained) {
+            Product before = entry.cell.withStock(entry.cell.persisted);
+            entry.cell.persisted += (int) entry.delta;
+            try {
+                indexManager.productUpdated(before, entry.cell.withStock(entry.cell.persisted));
+            } catch (RuntimeException e) {
+                // the update is committed; the next rebuild or reconciliation corrects the indexes
+                log.error("Index update after the stock flush of product {} failed: {}",
+                        entry.cell.product.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private final class StockCell {
+
+        private final String key;
+        private final Product product;
+        // what callers see: the stored stock plus everything still pending
+        private final AtomicInteger available;
+        private final LongAdder pending = new LongAdder();
+        private int persisted;
+
+        private StockCell(String key, Product product) {
+            this.key = key;
+            this.product = product;
+            this.available = new AtomicInteger(product.getStock());
+            this.persisted = product.getStock();
+        }
+
+        /**
+         * Returns the new available stock, or {@link #RETIRED} if a flush dropped this cell first.
+         */
+        private int adjust(int delta) {
+            // pending before the stock moves, so a flush never retires a cell with an adjustment in flight
+            pending.add(delta);
+            // a CAS loop rather than an adder alone, so stock can never be taken below zero
+            int current;
+            int next;
+            do {
+                current = available.get();
+                if (current == RETIRED) {
+                    undo(delta);
+                    return RETIRED;
+                }
+                long sum = (long) current + delta;
+                if (sum < 0) {
+                    undo(delta);
+                    throw new InsufficientStockException("Insufficient stock for partNumber '"
+                            + product.getPartNumber() + "': available " + current + ", requested " + -delta);
+                }
+                if (sum > Integer.MAX_VALUE) {
+                    undo(delta);
+                    throw new IllegalArgumentException("stock cannot exceed " + Integer.MAX_VALUE);
+                }
+                next = (int) sum;
+            } while (!available.compareAndSet(current, next));
+            dirty.add(this);
+            return next;
+        }
+
+        // a flush may have drained the delta meanwhile, so the correction must be flushed as well
+        private void undo(int delta) {
+            pending.add(-delta);
+            dirty.add(this);
+        }
+
+        private Product withStock(int stock) {
+            return Product.builder()
+                    .id(product.getId())
+                    .partNumber(product.getPartNumber())
+                    .partName(product.getPartName())
+                    .category(product.getCategory())
+                    .price(product.getPrice())
+                    .stock(stock)
+                    .createdAt(product.getCreatedAt())
+                    .build();
+        }
+    }
+
+    private record Drained(StockCell cell, long delta) {
+    }
+
+    private record Applied(StockCell cell, int stock) {
+    }
+}
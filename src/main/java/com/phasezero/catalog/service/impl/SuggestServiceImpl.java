@@ -0,0 +1,45 @@
+package com.phasezero.catalog.service.impl;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.SuggestionResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.SuggestIndex;
+import com.phasezero.catalog.service.SuggestService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(value = "catalog.service", histogram = true)
+public class SuggestServiceImpl implements SuggestService {
+
+    private final SuggestIndex suggestIndex;
+    private final CatalogProperties properties;
+
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        int maxLimit = properties.getSearch().getMaxLimit();
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("prefix must not be blank");
+        }
+        log.debug("Suggest prefix='{}', limit={}", prefix, limit);
+
+        // answered from memory only, a keystroke never reaches the database
+        if (!suggestIndex.isReady()) {
+            throw new CatalogNotReadyException("Suggest index is still building, retry shortly");
+        }
+
+        return suggestIndex.suggest(prefix, limit).stream()
+                .map(suggestion -> new SuggestionResponse(suggestion.id(), suggestion.partNumber(),
+                        suggestion.partName(), suggestion.stock()))
+                .toList();
+    }
+}
@@ -0,0 +1,274 @@
+package com.phasezero.catalog.snapshot;
+
+import com.phasezero.catalog.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes the catalog as a compact binary file: a fixed header describing the catalog,
+ * the products in id order with categories written once and referenced by number, and a CRC32
+ * of the product section.
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    static final int MAGIC = 0x505A4353; // "PZCS"
+    static final int VERSION = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long SUMMARY_OFFSET = 8;
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogSnapshotStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * What the snapshot claims about the catalog; compared with the database before it is trusted.
+     * Stock is also summed weighted by id, so moving units between products changes the header
+     * even when the total stays the same.
+     */
+    public record Header(long products, long maxId, long stockSum, long weightedStockSum, long priceCentsSum,
+                         long categories, Instant writtenAt) {
+
+        public boolean matches(Header other) {
+            return products == other.products && maxId == other.maxId && stockSum == other.stockSum
+                    && weightedStockSum == other.weightedStockSum && priceCentsSum == other.priceCentsSum
+                    && categories == other.categories;
+        }
+    }
+
+    /**
+     * Summarises the products table with a single aggregate query.
+     */
+    public Header describeDatabase() {
+        return jdbcTemplate.queryForObject(
+                "select count(*), coalesce(max(id), 0), coalesce(sum(stock), 0), coalesce(sum(id * stock), 0), "
+                        + "coalesce(sum(cast(round(price * 100) as bigint)), 0), count(distinct category) "
+                        + "from products",
+                (rs, rowNum) -> new Header(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), Instant.now()));
+    }
+
+    /**
+     * Streams the products table into {@code path}. The file is written next to the target and moved
+     * into place, so a crash mid-write leaves the previous snapshot intact.
+     */
+    public Header write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            SnapshotWriter writer;
+            try (OutputStream file = Files.newOutputStream(tmp)) {
+                DataOutputStream headerOut = new DataOutputStream(file);
+                headerOut.writeInt(MAGIC);
+                headerOut.writeInt(VERSION);
+                // summary is patched in once the rows have been counted
+                for (int i = 0; i < 7; i++) {
+                    headerOut.writeLong(0);
+                }
+                headerOut.flush();
+
+                CRC32 crc = new CRC32();
+                DataOutputStream rows = new DataOutputStream(
+                        new BufferedOutputStream(new CheckedOutputStream(file, crc), BUFFER_SIZE));
+                writer = new SnapshotWriter(rows);
+                jdbcTemplate.query(connection -> {
+                    var statement = connection.prepareStatement(
+                            "select id, part_number, part_name, category, price, stock, created_at "
+                                    + "from products order by id");
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, rs -> {
+                    writer.write(Product.builder()
+                            .id(rs.getLong(1))
+                            .partNumber(rs.getString(2))
+                            .partName(rs.getString(3))
+                            .category(rs.getString(4))
+                            .price(rs.getDouble(5))
+                            .stock(rs.getInt(6))
+                            .createdAt(rs.getObject(7, LocalDateTime.class))
+                            .build());
+                });
+                rows.writeBoolean(false);
+                rows.flush();
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+
+            Header header = new Header(writer.products, writer.maxId, writer.stockSum, writer.weightedStockSum,
+                    writer.priceCentsSum, writer.categories.size(), Instant.now());
+            try (RandomAccessFile file = new RandomAccessFile(tmp.toFile(), "rw")) {
+                file.seek(SUMMARY_OFFSET);
+                file.writeLong(header.products());
+                file.writeLong(header.maxId());
+                file.writeLong(header.stockSum());
+                file.writeLong(header.weightedStockSum());
+                file.writeLong(header.priceCentsSum());
+                file.writeLong(header.categories());
+                file.writeLong(header.writtenAt().toEpochMilli());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return header;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Reads only the header, or returns null when there is no snapshot at {@code path}.
+     */
+    public Header readHeader(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return readHeader(in);
+        }
+    }
+
+    /**
+     * Passes every product in the snapshot to {@code consumer}. A truncated or corrupt file is only
+     * detected at the end, so callers must be ready to discard what they have consumed.
+     *
+     * @throws UncheckedIOException if the file cannot be read or fails its checks
+     */
+    public void read(Path path, Consumer<Product> consumer) {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE)) {
+            Header header = readHeader(new DataInputStream(file));
+
+            // checksum only what has been consumed, so the read-ahead never covers the trailer
+            CRC32 crc = new CRC32();
+            DataInputStream rows = new DataInputStream(new CheckedInputStream(file, crc));
+            List<String> categories = new ArrayList<>();
+            long products = 0;
+            while (rows.readBoolean()) {
+                consumer.accept(readProduct(rows, categories));
+                products++;
+            }
+            long expectedCrc = crc.getValue();
+            if (rows.readLong() != expectedCrc) {
+                throw new IOException("snapshot checksum mismatch");
+            }
+            if (products != header.products()) {
+                throw new IOException("snapshot holds " + products + " products, header says " + header.products());
+            }
+        } catch (EOFException e) {
+            throw new UncheckedIOException(new IOException("snapshot is truncated", e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a catalog snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        return new Header(in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+                Instant.ofEpochMilli(in.readLong()));
+    }
+
+    private static Product readProduct(DataInputStream in, List<String> categories) throws IOException {
+        long id = in.readLong();
+        String partNumber = in.readUTF();
+        String partName = in.readUTF();
+        int categoryId = in.readInt();
+        if (categoryId == categories.size()) {
+            categories.add(in.readUTF());
+        } else if (categoryId < 0 || categoryId > categories.size()) {
+            throw new IOException("snapshot references unknown category " + categoryId);
+        }
+        double price = in.readDouble();
+        int stock = in.readInt();
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IOException("snapshot holds an invalid timestamp", e);
+        }
+        return Product.builder()
+                .id(id)
+                .partNumber(partNumber)
+                .partName(partName)
+                .category(categories.get(categoryId))
+                .price(price)
+                .stock(stock)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static final class SnapshotWriter {
+        private final DataOutputStream out;
+        private final Map<String, Integer> categories = new HashMap<>();
+        private long products;
+        private long maxId;
+        private long stockSum;
+        private long weightedStockSum;
+        private long priceCentsSum;
+
+        private SnapshotWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(Product product) {
+            try {
+                out.writeBoolean(true);
+                out.writeLong(product.getId());
+                out.writeUTF(product.getPartNumber());
+                out.writeUTF(product.getPartName());
+                // a category is spelled out the first time it appears and referenced by number after that
+                Integer categoryId = categories.get(product.getCategory());
+                if (categoryId == null) {
+                    out.writeInt(categories.size());
+                    out.writeUTF(product.getCategory());
+                    categories.put(product.getCategory(), categories.size());
+                } else {
+                    out.writeInt(categoryId);
+                }
+                out.writeDouble(product.getPrice());
+                out.writeInt(product.getStock());
+                out.writeLong(product.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(product.getCreatedAt().getNano());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            products++;
+            maxId = Math.max(maxId, product.getId());
+            stockSum += product.getStock();
+            weightedStockSum += product.getId() * product.getStock();
+            priceCentsSum += Math.round(product.getPrice() * 100);
+        }
+    }
+}
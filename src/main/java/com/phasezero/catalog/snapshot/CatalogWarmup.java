@@ -0,0 +1,179 @@
+package com.phasezero.catalog.snapshot;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.service.StockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Fills the catalog indexes once the application is ready, from the binary snapshot when it still
+ * describes the database and from the products table otherwise, and writes a fresh snapshot on
+ * shutdown. Each startup phase is timed and logged on one line.
+ */
+@Slf4j
+@Component
+public class CatalogWarmup {
+
+    private final CatalogIndexManager indexManager;
+    private final CatalogSnapshotStore snapshotStore;
+    private final StockService stockService;
+    private final CatalogProperties properties;
+
+    private volatile Duration contextStartup;
+
+    public CatalogWarmup(CatalogIndexManager indexManager,
+                         CatalogSnapshotStore snapshotStore,
+                         StockService stockService,
+                         CatalogProperties properties) {
+        this.indexManager = indexManager;
+        this.snapshotStore = snapshotStore;
+        this.stockService = stockService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void contextStarted(ApplicationStartedEvent event) {
+        contextStartup = event.getTimeTaken();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        Duration ready = event.getTimeTaken();
+        if (ready != null) {
+            phases.put("jvm", Math.max(0, uptime - ready.toMillis()));
+            if (contextStartup != null) {
+                phases.put("context", contextStartup.toMillis());
+            }
+        }
+        beanPhases(event.getApplicationContext().getApplicationStartup(), phases);
+        if (!properties.getSnapshot().isEnabled()) {
+            discardSnapshot();
+        }
+
+        if (properties.getIndex().isRebuildOnStartup()) {
+            long start = System.nanoTime();
+            if (!properties.getSnapshot().isEnabled() || !loadSnapshot(phases)) {
+                long rebuild = System.nanoTime();
+                indexManager.rebuild();
+                phases.put("index-rebuild", elapsedMillis(rebuild));
+            }
+            phases.put("warm-up", elapsedMillis(start));
+        }
+        phases.put("total", ManagementFactory.getRuntimeMXBean().getUptime());
+
+        StringJoiner line = new StringJoiner(", ");
+        phases.forEach((phase, millis) -> line.add(phase + "=" + millis + "ms"));
+        log.info("Startup phases: {}", line);
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return;
+        }
+        // pending stock adjustments belong in the snapshot
+        stockService.flush();
+        Path path = snapshotPath();
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotStore.Header header = snapshotStore.write(path);
+            log.info("Wrote catalog snapshot of {} products to {} in {} ms",
+                    header.products(), path, elapsedMillis(start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write catalog snapshot to {}, the next startup will rebuild from the database", path, e);
+        }
+    }
+
+    private boolean loadSnapshot(Map<String, Long> phases) {
+        Path path = snapshotPath();
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotStore.Header snapshot = snapshotStore.readHeader(path);
+            if (snapshot == null) {
+                log.info("No catalog snapshot at {}, rebuilding indexes from the database", path);
+                return false;
+            }
+            // writers wait for the check and the load, so no change can commit between them
+            boolean loaded = indexManager.callExclusive(() -> {
+                CatalogSnapshotStore.Header database = snapshotStore.describeDatabase();
+                phases.put("snapshot-verify", elapsedMillis(start));
+                if (!snapshot.matches(database)) {
+                    log.warn("Catalog snapshot from {} is stale (snapshot {}, database {}), rebuilding indexes from the database",
+                            snapshot.writtenAt(), snapshot, database);
+                    return false;
+                }
+
+                long load = System.nanoTime();
+                boolean rebuilt = indexManager.rebuild("snapshot", consumer -> snapshotStore.read(path, consumer));
+                phases.put("snapshot-load", elapsedMillis(load));
+                return rebuilt;
+            });
+            // a stale snapshot stays stale, and without a clean shutdown to rewrite it a loaded one
+            // could miss later changes
+            Files.deleteIfExists(path);
+            return loaded;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not read catalog snapshot at {}, rebuilding indexes from the database", path, e);
+            return false;
+        }
+    }
+
+    // a snapshot left by an earlier run would miss every change made while snapshots are off
+    private void discardSnapshot() {
+        Path path = snapshotPath();
+        try {
+            if (Files.deleteIfExists(path)) {
+                log.info("Deleted catalog snapshot at {} because snapshots are disabled", path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete catalog snapshot at {}", path, e);
+        }
+    }
+
+    private Path snapshotPath() {
+        return Path.of(properties.getSnapshot().getPath());
+    }
+
+    private static void beanPhases(ApplicationStartup applicationStartup, Map<String, Long> phases) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        for (StartupTimeline.TimelineEvent event : buffering.getBufferedTimeline().getEvents()) {
+            if (!"spring.beans.instantiate".equals(event.getStartupStep().getName())) {
+                continue;
+            }
+            for (var tag : event.getStartupStep().getTags()) {
+                // the JPA factory bean is instantiated under its '&' factory name
+                String beanName = tag.getValue().startsWith("&") ? tag.getValue().substring(1) : tag.getValue();
+                if ("beanName".equals(tag.getKey())
+                        && ("dataSource".equals(beanName) || "entityManagerFactory".equals(beanName))) {
+                    phases.put(beanName, event.getDuration().toMillis());
+                }
+            }
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
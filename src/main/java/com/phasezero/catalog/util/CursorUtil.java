@@ -0,0 +1,71 @@
+package com.phasezero.catalog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe cursor tokens.
+ */
+public final class CursorUtil {
+
+    private static final String ID_PREFIX = "i:";
+    private static final String PRICE_PREFIX = "p:";
+
+    private CursorUtil() {}
+
+    public record PriceCursor(double price, long id) {}
+
+    public static String encodeId(long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    public static long decodeId(String cursor) {
+        String value = decode(cursor, ID_PREFIX);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    public static String encodePrice(double price, long id) {
+        return encode(PRICE_PREFIX + Long.toHexString(Double.doubleToLongBits(price)) + ":" + id);
+    }
+
+    public static PriceCursor decodePrice(String cursor) {
+        String value = decode(cursor, PRICE_PREFIX);
+        int separator = value.indexOf(':');
+        if (separator < 0) {
+            throw invalid();
+        }
+        try {
+            double price = Double.longBitsToDouble(Long.parseUnsignedLong(value.substring(0, separator), 16));
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new PriceCursor(price, id);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor, String prefix) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        if (!value.startsWith(prefix)) {
+            throw invalid();
+        }
+        return value.substring(prefix.length());
+    }
+
+    private static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("invalid cursor");
+    }
+}
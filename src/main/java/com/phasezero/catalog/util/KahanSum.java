@@ -0,0 +1,29 @@
+package com.phasezero.catalog.util;
+
+/**
+ * Compensated (Kahan-Babuska/Neumaier) running sum. Not thread-safe.
+ */
+public final class KahanSum {
+
+    private double sum;
+    private double compensation;
+
+    public void add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    public double value() {
+        return sum + compensation;
+    }
+
+    public void reset(double value) {
+        sum = value;
+        compensation = 0.0;
+    }
+}
@@ -0,0 +1,180 @@
+package com.phasezero.catalog.startup;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the service repeatedly in each startup mode and measures the time from process start
+ * to the first successful {@code GET /products}. Settings are {@code key=value} arguments:
+ * <pre>
+ *   jar=target/catalog-service-0.0.1-SNAPSHOT.jar  cds=target/cds
+ *   runs=5  modes=jar,aot,cds,aot-cds  timeout=120s  jvmArgs=-Xmx512m  output=target/startup
+ * </pre>
+ * Modes run round-robin so drift on the machine affects all of them alike. The first mode is the
+ * baseline the others are compared with.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Map<String, String> settings;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("jar", "target/catalog-service-0.0.1-SNAPSHOT.jar");
+        settings.put("cds", "target/cds");
+        settings.put("runs", "5");
+        settings.put("modes", "jar,aot,cds,aot-cds");
+        settings.put("timeout", "120s");
+        settings.put("jvmArgs", "");
+        settings.put("output", "target/startup");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("expected key=value but got '" + arg + "'");
+            }
+            settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        new StartupBenchmark(settings).run();
+    }
+
+    private void run() throws Exception {
+        System.out.println("Startup benchmark settings: " + settings);
+        List<String> modes = Arrays.asList(settings.get("modes").split(","));
+        int runs = Integer.parseInt(settings.get("runs"));
+        Path output = Path.of(settings.get("output"));
+        Files.createDirectories(output);
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        modes.forEach(mode -> results.put(mode, new long[runs]));
+        for (int run = 0; run < runs; run++) {
+            for (String mode : modes) {
+                long millis = launch(mode, output.resolve(mode + "-" + run + ".log"));
+                results.get(mode)[run] = millis;
+                System.out.printf(Locale.ROOT, "run %d %-8s first request after %d ms%n", run + 1, mode, millis);
+            }
+        }
+        report(results, output);
+    }
+
+    /**
+     * Starts the service in {@code mode}, waits for the first 200 and stops it again.
+     */
+    private long launch(String mode, Path log) throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        ProcessBuilder builder = new ProcessBuilder(command(mode, port))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + DurationStyle.detectAndParse(settings.get("timeout")).toNanos();
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(mode + " did not answer within " + settings.get("timeout") + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private List<String> command(String mode, int port) {
+        Path cds = Path.of(settings.get("cds"));
+        Path jar = Path.of(settings.get("jar"));
+        Path extractedJar = cds.resolve(jar.getFileName());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String arg : settings.get("jvmArgs").split(" ")) {
+            if (!arg.isBlank()) {
+                command.add(arg);
+            }
+        }
+        switch (mode) {
+            case "jar" -> command.addAll(List.of("-jar", jar.toString()));
+            case "extracted" -> command.addAll(List.of("-jar", extractedJar.toString()));
+            case "aot" -> command.addAll(List.of("-Dspring.aot.enabled=true", "-jar", extractedJar.toString()));
+            case "cds" -> command.addAll(List.of(
+                    "-XX:SharedArchiveFile=" + cds.resolve("application.jsa"), "-jar", extractedJar.toString()));
+            case "aot-cds" -> command.addAll(List.of("-Dspring.aot.enabled=true",
+                    "-XX:SharedArchiveFile=" + cds.resolve("application.jsa"), "-jar", extractedJar.toString()));
+            default -> throw new IllegalArgumentException("unknown mode '" + mode
+                    + "', expected jar, extracted, aot, cds or aot-cds");
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.jpa.show-sql=false");
+        return command;
+    }
+
+    private void report(Map<String, long[]> results, Path output) throws IOException {
+        String header = String.format(Locale.ROOT, "%-10s %8s %8s %8s %10s", "mode", "min ms", "p50 ms", "max ms", "vs first");
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+        double baseline = 0;
+        for (Map.Entry<String, long[]> entry : results.entrySet()) {
+            long[] millis = entry.getValue().clone();
+            Arrays.sort(millis);
+            double median = millis.length % 2 == 1
+                    ? millis[millis.length / 2]
+                    : (millis[millis.length / 2 - 1] + millis[millis.length / 2]) / 2.0;
+            if (baseline == 0) {
+                baseline = median;
+            }
+            lines.add(String.format(Locale.ROOT, "%-10s %8d %8.0f %8d %9.0f%%",
+                    entry.getKey(), millis[0], median, millis[millis.length - 1], (median / baseline - 1) * 100));
+        }
+
+        PrintStream out = System.out;
+        out.println();
+        out.println("Time to first successful request");
+        lines.forEach(out::println);
+        Files.write(output.resolve("summary.txt"), lines);
+        out.println("Per-launch logs and summary.txt written to " + output.toAbsolutePath() + File.separator);
+    }
+}
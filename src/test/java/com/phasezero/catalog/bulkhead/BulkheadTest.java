@@ -0,0 +1,115 @@
+package com.phasezero.catalog.bulkhead;
+
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.exception.BulkheadFullException;
+import com.phasezero.catalog.exception.ResourceNotFoundException;
+import com.phasezero.catalog.metrics.QueryCountInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("scan", 1, 1, Duration.ofSeconds(2));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    private CompletableFuture<String> blocked() {
+        return bulkhead.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done";
+        });
+    }
+
+    @Test
+    void submit_completesWithResultOrException() throws Exception {
+        assertEquals("ok", bulkhead.submit(() -> "ok").get(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Object> failed = bulkhead.submit(() -> {
+            throw new ResourceNotFoundException("missing");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void submit_fullQueue_isRejected() throws Exception {
+        CompletableFuture<String> running = blocked();
+        CompletableFuture<String> queued = blocked();
+        waitUntil(() -> bulkhead.active() == 1);
+
+        assertEquals(1, bulkhead.queued());
+        BulkheadFullException e = assertThrows(BulkheadFullException.class, () -> bulkhead.submit(() -> "late"));
+        assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+        assertEquals(1, bulkhead.rejected());
+
+        release.countDown();
+        assertEquals("done", running.get(5, TimeUnit.SECONDS));
+        assertEquals("done", queued.get(5, TimeUnit.SECONDS));
+        waitUntil(() -> bulkhead.completed() == 2);
+    }
+
+    @Test
+    void virtualThreads_boundConcurrencyAndQueueTheSame() throws Exception {
+        Bulkhead virtual = new Bulkhead("scan", 1, 1, Duration.ofSeconds(2), new CatalogThreads(true));
+        try {
+            CompletableFuture<Boolean> running = virtual.submit(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Thread.currentThread().isVirtual();
+            });
+            CompletableFuture<String> queued = virtual.submit(() -> "queued");
+            waitUntil(() -> virtual.active() == 1);
+
+            assertEquals(1, virtual.queued());
+            assertFalse(queued.isDone());
+            assertThrows(BulkheadFullException.class, () -> virtual.submit(() -> "late"));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    void submit_countsQueriesAgainstTheSubmittingRequest() throws Exception {
+        QueryCountInspector inspector = new QueryCountInspector();
+        QueryCountInspector.start();
+        try {
+            bulkhead.submit(() -> inspector.inspect("select 1")).get(5, TimeUnit.SECONDS);
+            assertEquals(1, QueryCountInspector.stop());
+        } finally {
+            QueryCountInspector.detach();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
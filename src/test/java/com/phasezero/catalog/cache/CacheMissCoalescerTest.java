@@ -0,0 +1,78 @@
+package com.phasezero.catalog.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheMissCoalescerTest {
+
+    private final CacheMissCoalescer coalescer = new CacheMissCoalescer();
+
+    @Test
+    void execute_concurrentCallersShareOneComputation() throws Exception {
+        int callers = 8;
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("cache", "key", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("cache", "key", () -> {
+                    computations.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (coalescer.getStats().get("cache").collapsed() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, computations.get());
+        assertEquals(1, coalescer.getStats().get("cache").executions());
+        assertEquals(callers - 1, coalescer.getStats().get("cache").collapsed());
+    }
+
+    @Test
+    void execute_failureIsNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("cache", "key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", coalescer.execute("cache", "key", () -> "ok"));
+        assertEquals(2, coalescer.getStats().get("cache").executions());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.phasezero.catalog.cache;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCachesTest {
+
+    private CatalogCaches catalogCaches;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        catalogCaches = new CatalogCaches(new CatalogProperties(), new CatalogThreads(false));
+        cacheManager = catalogCaches.getCacheManager();
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @Test
+    void productSaved_evictsOnlyAffectedEntries() {
+        cache(CacheNames.PRODUCTS_BY_NAME).put("filter", List.of());
+        cache(CacheNames.PRODUCTS_BY_NAME).put("brake", List.of());
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put("filters", List.of());
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put("brakes", List.of());
+        cache(CacheNames.SORTED_BY_PRICE).put("first-page", List.of());
+
+        catalogCaches.productSaved(Product.builder()
+                .id(1L).partNumber("P-1").partName("oil filter").category(" Filters ")
+                .price(10.0).stock(1).build());
+
+        assertNull(cache(CacheNames.PRODUCTS_BY_NAME).get("filter"));
+        assertNotNull(cache(CacheNames.PRODUCTS_BY_NAME).get("brake"));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get("filters"));
+        assertNotNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get("brakes"));
+        assertNull(cache(CacheNames.SORTED_BY_PRICE).get("first-page"));
+    }
+
+    @Test
+    void evictAll_clearsCatalogCaches() {
+        cache(CacheNames.PRODUCTS_BY_NAME).put("filter", List.of());
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put("filters", List.of());
+
+        catalogCaches.evictAll();
+
+        assertNull(cache(CacheNames.PRODUCTS_BY_NAME).get("filter"));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get("filters"));
+    }
+}
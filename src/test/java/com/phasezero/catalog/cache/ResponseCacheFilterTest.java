@@ -0,0 +1,107 @@
+package com.phasezero.catalog.cache;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"data\":\"" + "x".repeat(2_000) + "\"}";
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private CatalogVersion catalogVersion;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getResponseCache().setEnabled(true);
+        catalogVersion = new CatalogVersion();
+        filter = new ResponseCacheFilter(new ResponseBodyCache(properties), catalogVersion, properties);
+    }
+
+    private MockHttpServletResponse perform(String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/by-category");
+        request.setQueryString("category=filters");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                handled.incrementAndGet();
+                resp.setContentType("application/json");
+                resp.setHeader("ETag", catalogVersion.etag());
+                resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+
+    @Test
+    void secondRequestIsServedFromCachedBytes() throws Exception {
+        MockHttpServletResponse first = perform(null);
+        MockHttpServletResponse second = perform(null);
+
+        assertEquals(1, handled.get());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals(first.getHeader("ETag"), second.getHeader("ETag"));
+        assertEquals("application/json", second.getContentType());
+    }
+
+    @Test
+    void gzipIsNegotiated() throws Exception {
+        perform(null);
+        MockHttpServletResponse response = perform("br, gzip;q=0.8");
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void catalogWriteInvalidatesCachedBytes() throws Exception {
+        perform(null);
+        catalogVersion.bump();
+        perform(null);
+
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void disabledByDefault_everyRequestReachesTheHandler() throws Exception {
+        CatalogProperties properties = new CatalogProperties();
+        filter = new ResponseCacheFilter(new ResponseBodyCache(properties), catalogVersion, properties);
+
+        perform(null);
+        MockHttpServletResponse second = perform(null);
+
+        assertEquals(2, handled.get());
+        assertEquals(BODY, second.getContentAsString());
+    }
+
+    @Test
+    void acceptsGzip_honoursQualityZero() {
+        assertTrue(ResponseCacheFilter.acceptsGzip("gzip, deflate"));
+        assertTrue(ResponseCacheFilter.acceptsGzip("*"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseCacheFilter.acceptsGzip("identity"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.phasezero.catalog.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogThreadsTest {
+
+    private DefaultListableBeanFactory generated(boolean virtual) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("tomcat", new RootBeanDefinition(TomcatWebServerFactoryCustomizer.class));
+        if (virtual) {
+            beanFactory.registerBeanDefinition("tomcatVirtualThreads",
+                    new RootBeanDefinition(TomcatVirtualThreadsWebServerFactoryCustomizer.class));
+        }
+        return beanFactory;
+    }
+
+    @Test
+    void checkGeneratedThreading_failsWhenTheRuntimeModeDiffersFromTheGeneratedCode() {
+        assertDoesNotThrow(() -> CatalogThreads.checkGeneratedThreading(generated(false), false));
+        assertDoesNotThrow(() -> CatalogThreads.checkGeneratedThreading(generated(true), true));
+
+        IllegalStateException halfVirtual = assertThrows(IllegalStateException.class,
+                () -> CatalogThreads.checkGeneratedThreading(generated(false), true));
+        assertTrue(halfVirtual.getMessage().contains("-Pfast-startup -Daot.profiles=virtual-threads"));
+        assertTrue(halfVirtual.getMessage().contains("--build-arg AOT_PROFILES=virtual-threads"));
+        assertThrows(IllegalStateException.class, () -> CatalogThreads.checkGeneratedThreading(generated(true), false));
+    }
+
+    @Test
+    void checkGeneratedThreading_ignoresContextsWithoutTomcat() {
+        assertDoesNotThrow(() -> CatalogThreads.checkGeneratedThreading(new DefaultListableBeanFactory(), true));
+    }
+}
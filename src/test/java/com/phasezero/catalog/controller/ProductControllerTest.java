@@ -1,8 +1,14 @@
 package com.phasezero.catalog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phasezero.catalog.bulkhead.Bulkheads;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.CursorPage;
 import com.phasezero.catalog.dto.ProductRequest;
 import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.exception.GlobalExceptionHandler;
 import com.phasezero.catalog.service.ProductService;
 import com.phasezero.catalog.util.ResponseUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +16,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -23,14 +33,19 @@ class ProductControllerTest {
 
     private MockMvc mockMvc;
     private ProductService productService;
+    private CatalogVersion catalogVersion;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setup() {
         productService = Mockito.mock(ProductService.class);
-        ProductController controller = new ProductController(productService);
+        catalogVersion = new CatalogVersion();
+        ProductController controller = new ProductController(productService, catalogVersion,
+                new Bulkheads(new CatalogProperties(), new CatalogThreads(false)));
 
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
     }
 
@@ -73,10 +88,104 @@ class ProductControllerTest {
                         new ProductResponse(1L, "P-1001", "hydraulic filter", "filters", 1200.5, 10)
                 ));
 
-        mockMvc.perform(get("/products?page=0&size=20"))
+        mockMvc.perform(asyncDispatch(perform(get("/products?page=0&size=20"))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data[0].partNumber").value("P-1001"));
     }
 
+    @Test
+    void getAllProducts_withoutPage_returnsNextCursorHeader() throws Exception {
+
+        Mockito.when(productService.getProductsAfter("abc", 1))
+                .thenReturn(new CursorPage<>(List.of(
+                        new ProductResponse(2L, "P-1002", "oil filter", "filters", 800.0, 5)
+                ), "def"));
+
+        mockMvc.perform(asyncDispatch(perform(get("/products?after=abc&size=1"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$.data[0].partNumber").value("P-1002"));
+    }
+
+    @Test
+    void getProductByPartNumber_returnsProduct() throws Exception {
+
+        Mockito.when(productService.getProductByPartNumber("P-1001"))
+                .thenReturn(new ProductResponse(1L, "P-1001", "hydraulic filter", "filters", 1200.5, 10));
+
+        mockMvc.perform(asyncDispatch(perform(get("/products/part/P-1001"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id").value(1));
+    }
+
+    @Test
+    void getTotalInventoryValue_matchingEtag_returns304WithoutCallingService() throws Exception {
+        String etag = catalogVersion.etag();
+
+        mockMvc.perform(get("/products/inventory/value").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    @Test
+    void filterByCategory_staleEtag_returnsBodyWithNewEtag() throws Exception {
+        String stale = catalogVersion.etag();
+        catalogVersion.bump();
+        Mockito.when(productService.filterByCategory("filters")).thenReturn(List.of());
+
+        mockMvc.perform(asyncDispatch(perform(get("/products/by-category?category=filters")
+                        .header("If-None-Match", stale))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", catalogVersion.etag()));
+    }
+
+    @Test
+    void searchByName_noMatches_returns404FromBulkhead() throws Exception {
+        Mockito.when(productService.searchByName("nothing")).thenReturn(List.of());
+
+        mockMvc.perform(asyncDispatch(perform(get("/products/search?name=nothing"))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RESOURCE_NOT_FOUND"));
+    }
+
+    @Test
+    void searchByName_saturatedBulkhead_returns503WithRetryAfter() throws Exception {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getBulkheads().getScan().setThreads(1);
+        properties.getBulkheads().getScan().setQueueCapacity(0);
+        Bulkheads bulkheads = new Bulkheads(properties, new CatalogThreads(false));
+        MockMvc saturated = MockMvcBuilders
+                .standaloneSetup(new ProductController(productService, catalogVersion, bulkheads))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        CountDownLatch release = new CountDownLatch(1);
+        bulkheads.scan().submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        try {
+            saturated.perform(get("/products/search?name=filter"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("OVERLOADED"));
+        } finally {
+            release.countDown();
+            bulkheads.shutdown();
+        }
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
 }
@@ -0,0 +1,80 @@
+package com.phasezero.catalog.controller;
+
+import com.phasezero.catalog.dto.StockAdjustmentResult;
+import com.phasezero.catalog.dto.StockAdjustmentResult.Status;
+import com.phasezero.catalog.dto.StockLevelResponse;
+import com.phasezero.catalog.exception.GlobalExceptionHandler;
+import com.phasezero.catalog.exception.InsufficientStockException;
+import com.phasezero.catalog.service.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProductStockControllerTest {
+
+    private MockMvc mockMvc;
+    private StockService stockService;
+
+    @BeforeEach
+    void setup() {
+        stockService = Mockito.mock(StockService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductStockController(stockService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void adjustStock_returnsNewLevel() throws Exception {
+        Mockito.when(stockService.adjustStock("P-1", -2, true))
+                .thenReturn(new StockLevelResponse(1L, "P-1", 8, 0));
+
+        mockMvc.perform(post("/products/P-1/stock/adjust?sync=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":-2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.stock").value(8))
+                .andExpect(jsonPath("$.data.pending").value(0));
+    }
+
+    @Test
+    void adjustStock_insufficientStock_returns409() throws Exception {
+        Mockito.when(stockService.adjustStock("P-1", -20, false))
+                .thenThrow(new InsufficientStockException("Insufficient stock for partNumber 'P-1'"));
+
+        mockMvc.perform(post("/products/P-1/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"delta\":-20}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("INSUFFICIENT_STOCK"));
+    }
+
+    @Test
+    void adjustStock_missingDelta_returns400() throws Exception {
+        mockMvc.perform(post("/products/P-1/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adjustStockBatch_returnsRowResults() throws Exception {
+        Mockito.when(stockService.adjustStock(anyList(), eq(false)))
+                .thenReturn(List.of(new StockAdjustmentResult(0, "P-1", Status.APPLIED, 9, null)));
+
+        mockMvc.perform(post("/products/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"adjustments\":[{\"partNumber\":\"P-1\",\"delta\":-1}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status").value("APPLIED"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.phasezero.catalog.feed;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private ChangeLog changeLog;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getChanges().setRetention(4);
+        changeLog = new ChangeLog(new CatalogVersion(), properties);
+    }
+
+    private Product product(long id) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category("filters").price(10.0).stock(1).build();
+    }
+
+    private List<Long> sequences(List<ChangeEvent> changes) {
+        return changes.stream().map(ChangeEvent::sequence).toList();
+    }
+
+    @Test
+    void since_returnsChangesInOrder() {
+        for (long id = 1; id <= 3; id++) {
+            changeLog.append(ChangeEvent.Operation.CREATED, product(id));
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), sequences(changeLog.since(0, 10)));
+        assertEquals(List.of(2L), sequences(changeLog.since(1, 1)));
+        assertEquals(List.of(), changeLog.since(3, 10));
+        assertEquals("P-2", changeLog.since(1, 1).get(0).product().partNumber());
+    }
+
+    @Test
+    void since_droppedChanges_requiresResync() {
+        for (long id = 1; id <= 6; id++) {
+            changeLog.append(ChangeEvent.Operation.CREATED, product(id));
+        }
+
+        assertEquals(3, changeLog.oldest());
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(changeLog.since(2, 10)));
+        assertThrows(ResyncRequiredException.class, () -> changeLog.since(1, 10));
+    }
+
+    @Test
+    void since_unknownFutureSequence_requiresResync() {
+        changeLog.append(ChangeEvent.Operation.CREATED, product(1));
+
+        assertThrows(ResyncRequiredException.class, () -> changeLog.since(5, 10));
+    }
+
+    @Test
+    void append_notifiesListeners() {
+        AtomicInteger notified = new AtomicInteger();
+        changeLog.addListener(notified::incrementAndGet);
+
+        changeLog.append(ChangeEvent.Operation.UPDATED, product(1));
+
+        assertEquals(1, notified.get());
+        assertEquals(1, changeLog.latest());
+    }
+}
@@ -0,0 +1,84 @@
+package com.phasezero.catalog.feed;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeStreamTest {
+
+    private ChangeLog changeLog;
+    private ChangeStream changeStream;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getChanges().setSendTimeout(Duration.ofMillis(50));
+        changeLog = new ChangeLog(new CatalogVersion(), properties);
+        changeStream = new ChangeStream(changeLog, properties, new CatalogThreads(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        changeStream.shutdown();
+    }
+
+    private void append(long id) {
+        changeLog.append(ChangeEvent.Operation.CREATED, Product.builder().id(id).partNumber("P-" + id)
+                .partName("part").category("filters").price(1.0).stock(1).build());
+    }
+
+    @Test
+    void stalledSubscriber_doesNotHoldBackTheOthers() throws Exception {
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(3);
+        List<SseEmitter.SseEventBuilder> received = new CopyOnWriteArrayList<>();
+        changeStream.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) throws IOException {
+                // a client with a full TCP window
+                stalled.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 0, true);
+        changeStream.subscribe(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) {
+                received.add(event);
+                delivered.countDown();
+            }
+        }, 0, true);
+
+        append(1);
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        append(2);
+        append(3);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS), "the reading subscriber got every change");
+        assertEquals(2, changeStream.subscribers());
+
+        Thread.sleep(100);
+        changeStream.heartbeat();
+        assertEquals(1, changeStream.subscribers(), "the stalled subscriber is dropped after the send timeout");
+    }
+}
@@ -0,0 +1,64 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CatalogIndexManagerTest {
+
+    private Product product(Long id, int stock) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category("filters").price(10.0).stock(stock).build();
+    }
+
+    @Test
+    void rebuild_waitsForAWriteBetweenItsCommitAndIndexUpdate() throws Exception {
+        List<Product> table = new CopyOnWriteArrayList<>(List.of(product(1L, 2)));
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findByIdGreaterThan(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.copyOf(table)));
+        InventoryAggregates aggregates = new InventoryAggregates();
+        CatalogIndexManager manager = new CatalogIndexManager(repository, List.of(aggregates), new CatalogProperties());
+        assertTrue(manager.rebuild());
+
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Product added = product(2L, 3);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> manager.runShared(() -> {
+            table.add(added);
+            committed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            manager.productSaved(added);
+        }));
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> rebuild = CompletableFuture.supplyAsync(manager::rebuild);
+        Thread.sleep(100);
+        assertFalse(rebuild.isDone(), "the rebuild must not read the table before the write is indexed");
+
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+        assertTrue(rebuild.get(5, TimeUnit.SECONDS));
+        // the rebuild read product 2 from the table; the earlier index update was cleared, not added on top
+        assertEquals(2, aggregates.count());
+        assertEquals(50.0, aggregates.totalValue());
+    }
+}
@@ -0,0 +1,98 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.index.ColumnarSnapshot.CategoryStats;
+import com.phasezero.catalog.index.ColumnarSnapshot.PriceHistogram;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSnapshotTest {
+
+    private ColumnarSnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        snapshot = new ColumnarSnapshot();
+    }
+
+    private Product product(Long id, String category, double price, int stock) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category(category).price(price).stock(stock).build();
+    }
+
+    @Test
+    void categoryStats_aggregatesEachCategory() {
+        snapshot.index(product(1L, "filters", 100.0, 2));
+        snapshot.index(product(2L, "Filters", 50.0, 4));
+        snapshot.index(product(3L, "brakes", 55.0, 1));
+
+        assertEquals(List.of(
+                new CategoryStats("brakes", 1, 1, 55.0, 55.0, 55.0, 55.0),
+                new CategoryStats("filters", 2, 6, 400.0, 50.0, 100.0, 150.0)
+        ), snapshot.categoryStats());
+    }
+
+    @Test
+    void index_existingProduct_overwritesItsRow() {
+        snapshot.index(product(1L, "filters", 100.0, 2));
+        snapshot.update(product(1L, "filters", 100.0, 2), product(1L, "filters", 100.0, 7));
+
+        assertEquals(1, snapshot.size());
+        assertEquals(List.of(new CategoryStats("filters", 1, 7, 700.0, 100.0, 100.0, 100.0)),
+                snapshot.categoryStats());
+    }
+
+    @Test
+    void priceHistogram_splitsRangeIntoEqualBuckets() {
+        snapshot.index(product(1L, "filters", 0.0, 1));
+        snapshot.index(product(2L, "filters", 4.9, 2));
+        snapshot.index(product(3L, "filters", 5.0, 3));
+        snapshot.index(product(4L, "filters", 10.0, 4));
+        snapshot.index(product(5L, "brakes", 1000.0, 5));
+
+        PriceHistogram histogram = snapshot.priceHistogram("Filters", 2);
+
+        assertEquals(0.0, histogram.minPrice());
+        assertEquals(10.0, histogram.maxPrice());
+        assertEquals(5.0, histogram.width());
+        assertArrayEquals(new long[]{2, 2}, histogram.products());
+        assertArrayEquals(new long[]{3, 7}, histogram.stock());
+        assertEquals(0, snapshot.priceHistogram("unknown", 2).buckets());
+        assertEquals(1, snapshot.priceHistogram("brakes", 10).buckets());
+    }
+
+    @Test
+    void reports_spanningSeveralChunks_matchSequentialTotals() {
+        int rows = ColumnarSnapshot.CHUNK_SIZE * 3 + 17;
+        long expectedStock = 0;
+        for (int i = 1; i <= rows; i++) {
+            int stock = i % 7;
+            snapshot.index(product((long) i, i % 2 == 0 ? "even" : "odd", i % 100, stock));
+            expectedStock += stock;
+        }
+
+        List<CategoryStats> stats = snapshot.categoryStats();
+        assertEquals(rows, stats.stream().mapToLong(CategoryStats::products).sum());
+        assertEquals(expectedStock, stats.stream().mapToLong(CategoryStats::stock).sum());
+
+        PriceHistogram histogram = snapshot.priceHistogram(null, 10);
+        assertEquals(rows, java.util.Arrays.stream(histogram.products()).sum());
+        assertEquals(99.0, histogram.maxPrice());
+    }
+
+    @Test
+    void clear_dropsAllRows() {
+        snapshot.index(product(1L, "filters", 100.0, 2));
+        snapshot.markReady();
+
+        snapshot.clear();
+
+        assertFalse(snapshot.isReady());
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.categoryStats().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.index.FacetIndex.FacetResult;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getFacets().setPriceBands(List.of(100.0, 10.0, 50.0));
+        index = new FacetIndex(properties);
+
+        index.index(product(1L, "filters", 5.0));
+        index.index(product(2L, "Filters", 10.0));
+        index.index(product(3L, "filters", 75.0));
+        index.index(product(4L, "brakes", 60.0));
+        index.index(product(5L, "brakes", 250.0));
+        index.markReady();
+    }
+
+    private Product product(Long id, String category, double price) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category(category).price(price).stock(1).build();
+    }
+
+    @Test
+    void priceBands_areLabelledFromSortedBounds() {
+        assertEquals(List.of("0-10", "10-50", "50-100", "100+"), index.priceBands());
+        assertEquals(0, index.band(9.99));
+        assertEquals(1, index.band(10.0));
+        assertEquals(3, index.band(100.0));
+        assertThrows(IllegalArgumentException.class, () -> index.priceBand("5-10"));
+    }
+
+    @Test
+    void query_countsEachFacetIgnoringItsOwnFilter() {
+        FacetResult result = index.query(null, "filters", index.priceBand("50-100"));
+
+        assertEquals(RoaringBitmap.bitmapOf(3), result.matches());
+        // categories restricted by band only, bands restricted by category only
+        assertEquals(Map.of("brakes", 1, "filters", 1), result.categoryCounts());
+        assertArrayEquals(new int[]{1, 1, 1, 0}, result.bandCounts());
+    }
+
+    @Test
+    void query_intersectsNameMatches() {
+        FacetResult result = index.query(RoaringBitmap.bitmapOf(2, 4, 5, 99), null, -1);
+
+        assertEquals(RoaringBitmap.bitmapOf(2, 4, 5), result.matches());
+        assertEquals(Map.of("brakes", 2, "filters", 1), result.categoryCounts());
+        assertArrayEquals(new int[]{0, 1, 1, 1}, result.bandCounts());
+    }
+
+    @Test
+    void update_movesProductBetweenBitmaps() {
+        index.update(product(1L, "filters", 5.0), product(1L, "brakes", 500.0));
+
+        FacetResult result = index.query(null, "brakes", -1);
+        assertEquals(RoaringBitmap.bitmapOf(1, 4, 5), result.matches());
+        assertArrayEquals(new int[]{0, 0, 1, 2}, result.bandCounts());
+        assertEquals(Map.of("brakes", 3, "filters", 2), result.categoryCounts());
+    }
+
+    @Test
+    void page_returnsIdsAfterCursor() {
+        FacetResult result = index.query(null, null, -1);
+
+        assertEquals(List.of(1L, 2L), result.page(-1, 2));
+        assertEquals(List.of(3L, 4L), result.page(2, 2));
+        assertEquals(List.of(), result.page(5, 2));
+    }
+}
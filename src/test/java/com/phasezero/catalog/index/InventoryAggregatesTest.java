@@ -0,0 +1,75 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.dto.CategoryInventoryResponse;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryAggregatesTest {
+
+    private InventoryAggregates aggregates;
+
+    @BeforeEach
+    void setup() {
+        aggregates = new InventoryAggregates();
+    }
+
+    private Product product(Long id, String category, double price, int stock) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category(category).price(price).stock(stock).build();
+    }
+
+    @Test
+    void index_updatesTotalAndCategoryTotals() {
+        aggregates.index(product(1L, "filters", 100.0, 2));
+        aggregates.index(product(2L, "Filters", 50.0, 4));
+        aggregates.index(product(3L, "brakes", 55.0, 1));
+
+        assertEquals(455.0, aggregates.totalValue());
+        assertEquals(3, aggregates.count());
+        assertEquals(List.of(
+                new CategoryInventoryResponse("brakes", 1, 55.0),
+                new CategoryInventoryResponse("filters", 2, 400.0)
+        ), aggregates.byCategory());
+    }
+
+    @Test
+    void index_compensatesRoundingError() {
+        for (long i = 0; i < 1_000_000; i++) {
+            aggregates.index(product(i, "bolts", 0.1, 1));
+        }
+
+        assertEquals(100_000.0, aggregates.totalValue(), 1e-9);
+    }
+
+    @Test
+    void update_appliesTheDifference() {
+        aggregates.index(product(1L, "filters", 100.0, 2));
+        aggregates.index(product(2L, "brakes", 55.0, 1));
+
+        aggregates.update(product(1L, "filters", 100.0, 2), product(1L, "filters", 100.0, 5));
+
+        assertEquals(555.0, aggregates.totalValue());
+        assertEquals(2, aggregates.count());
+        assertEquals(List.of(
+                new CategoryInventoryResponse("brakes", 1, 55.0),
+                new CategoryInventoryResponse("filters", 1, 500.0)
+        ), aggregates.byCategory());
+    }
+
+    @Test
+    void clear_resetsTotals() {
+        aggregates.index(product(1L, "filters", 100.0, 2));
+        aggregates.markReady();
+
+        aggregates.clear();
+
+        assertFalse(aggregates.isReady());
+        assertEquals(0.0, aggregates.totalValue());
+        assertTrue(aggregates.byCategory().isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InventoryReconcilerTest {
+
+    private ProductRepository productRepository;
+    private InventoryAggregates aggregates;
+    private CatalogIndexManager indexManager;
+    private InventoryReconciler reconciler;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        productRepository = mock(ProductRepository.class);
+        aggregates = new InventoryAggregates();
+        indexManager = new CatalogIndexManager(productRepository, List.of(aggregates), properties);
+        reconciler = new InventoryReconciler(productRepository, aggregates, indexManager, properties);
+
+        aggregates.index(product(1L, 20.0, 50_000_000));
+        aggregates.markReady();
+    }
+
+    private Product product(Long id, double price, int stock) {
+        return Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category("filters").price(price).stock(stock).build();
+    }
+
+    @Test
+    void reconcile_roundingOfTheDatabaseSum_isNotDrift() {
+        // a few cents off a value of 1e9 is the rounding of a plain double SUM
+        when(productRepository.sumInventoryValue()).thenReturn(1_000_000_000.05);
+
+        reconciler.reconcile();
+
+        assertEquals(-0.05, reconciler.getLastDrift(), 1e-6);
+        verify(productRepository, never()).sumInventoryValueByCategory();
+        assertEquals(1_000_000_000.0, aggregates.totalValue());
+    }
+
+    @Test
+    void reconcile_realDrift_resetsTheAggregates() {
+        when(productRepository.sumInventoryValue()).thenReturn(999_000_000.0);
+
+        reconciler.reconcile();
+
+        // no write since the SUM, so it is compared as is
+        verify(productRepository, times(1)).sumInventoryValue();
+        verify(productRepository).sumInventoryValueByCategory();
+        assertEquals(999_000_000.0, aggregates.totalValue());
+    }
+
+    @Test
+    void reconcile_writersDoNotWaitForTheSum() {
+        when(productRepository.sumInventoryValue()).thenAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> indexManager.productSaved(product(2L, 10.0, 1)))
+                    .get(5, TimeUnit.SECONDS);
+            return 1_000_000_000.0;
+        }).thenReturn(1_000_000_010.0);
+
+        reconciler.reconcile();
+
+        // the first SUM missed the write, so the comparison used a second one
+        verify(productRepository, times(2)).sumInventoryValue();
+        verify(productRepository, never()).sumInventoryValueByCategory();
+        assertEquals(0.0, reconciler.getLastDrift());
+    }
+}
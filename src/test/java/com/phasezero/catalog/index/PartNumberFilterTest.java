@@ -0,0 +1,72 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartNumberFilterTest {
+
+    private PartNumberFilter filter(long initialCapacity) {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getIndex().getPartNumberFilter().setInitialCapacity(initialCapacity);
+        return new PartNumberFilter(properties);
+    }
+
+    @Test
+    void mightContain_reportsEverythingPossibleUntilReady() {
+        PartNumberFilter filter = filter(100);
+
+        assertTrue(filter.mightContain("P-1"));
+
+        filter.markReady();
+        assertFalse(filter.mightContain("P-1"));
+    }
+
+    @Test
+    void mightContain_neverReturnsFalseNegativesAcrossGrowth() {
+        PartNumberFilter filter = filter(1_000);
+        for (int i = 0; i < 20_000; i++) {
+            filter.index(Product.builder().id((long) i).partNumber("PN-" + i).build());
+        }
+        filter.markReady();
+
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filter.mightContain("PN-" + i));
+        }
+        // additions that already test positive are not counted
+        assertTrue(filter.size() > 19_000 && filter.size() <= 20_000);
+    }
+
+    @Test
+    void mightContain_keepsFalsePositiveRateNearTarget() {
+        PartNumberFilter filter = filter(1_000);
+        for (int i = 0; i < 20_000; i++) {
+            filter.index(Product.builder().id((long) i).partNumber("PN-" + i).build());
+        }
+        filter.markReady();
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("OTHER-" + i)) {
+                falsePositives++;
+            }
+        }
+        // target is 0.01 overall
+        assertTrue(falsePositives < probes * 0.015, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.015);
+    }
+
+    @Test
+    void clear_forgetsPartNumbers() {
+        PartNumberFilter filter = filter(100);
+        filter.index(Product.builder().id(1L).partNumber("P-1").build());
+        filter.clear();
+        filter.markReady();
+
+        assertFalse(filter.mightContain("P-1"));
+        assertEquals(0, filter.size());
+    }
+}
@@ -0,0 +1,95 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ProductSearchIndex();
+        index.index(product(1L, "hydraulic filter"));
+        index.index(product(2L, "oil filter"));
+        index.index(product(3L, "brake pad"));
+        index.markReady();
+    }
+
+    private Product product(Long id, String name) {
+        return Product.builder().id(id).partNumber("P-" + id).partName(name).build();
+    }
+
+    @Test
+    void search_matchesSubstringCaseInsensitive() {
+        assertEquals(List.of(1L, 2L), index.search("FILTER"));
+        assertEquals(List.of(2L), index.search("oil fil"));
+        assertEquals(List.of(), index.search("filters"));
+    }
+
+    @Test
+    void search_verifiesCandidatesSharingAllTrigrams() {
+        index.index(product(4L, "abcab"));
+
+        // "abcabc" shares every trigram with "abcab" but is not a substring of it
+        assertEquals(List.of(), index.search("abcabc"));
+        assertEquals(List.of(4L), index.search("bca"));
+    }
+
+    @Test
+    void search_shortQueriesScanNames() {
+        assertEquals(List.of(1L, 2L, 3L), index.search("r"));
+        assertEquals(List.of(1L, 2L, 3L), index.search(""));
+    }
+
+    @Test
+    void index_replacesPreviousName() {
+        index.index(product(3L, "air filter"));
+
+        assertEquals(List.of(), index.search("brake"));
+        assertEquals(List.of(1L, 2L, 3L), index.search("filter"));
+    }
+
+    @Test
+    void fuzzySearch_toleratesTyposAndRanksCloserNamesFirst() {
+        index.index(product(4L, "heavy duty hydraulic filter housing"));
+        index.index(product(5L, "hydraulic pump"));
+
+        List<ProductSearchIndex.Match> matches = index.fuzzySearch("Hydrolic  filter", 10, 0.5);
+
+        assertEquals(List.of(1L, 4L), matches.stream().map(ProductSearchIndex.Match::id).toList());
+        assertTrue(matches.get(0).score() > 0.5 && matches.get(0).score() < 1);
+        // same trigrams shared, so the shorter name wins the tie
+        assertEquals(matches.get(0).score(), matches.get(1).score());
+        assertEquals(List.of(), index.fuzzySearch("gearbox", 10, 0.5));
+    }
+
+    @Test
+    void fuzzySearch_keepsOnlyTheBestLimitAboveTheThreshold() {
+        for (long id = 10; id < 60; id++) {
+            index.index(product(id, "filter " + id));
+        }
+
+        List<ProductSearchIndex.Match> top = index.fuzzySearch("filter 42", 3, 0.3);
+
+        assertEquals(3, top.size());
+        assertEquals(42L, top.get(0).id());
+        assertEquals(1.0, top.get(0).score());
+        assertTrue(top.get(1).score() >= top.get(2).score());
+        assertEquals(List.of(42L), index.fuzzySearch("filter 42", 3, 1.0).stream()
+                .map(ProductSearchIndex.Match::id).toList());
+    }
+
+    @Test
+    void clear_marksIndexNotReady() {
+        index.clear();
+
+        assertFalse(index.isReady());
+        assertEquals(0, index.size());
+    }
+}
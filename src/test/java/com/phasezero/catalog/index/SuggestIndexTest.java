@@ -0,0 +1,94 @@
+package com.phasezero.catalog.index;
+
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestIndexTest {
+
+    private SuggestIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new SuggestIndex();
+        index.index(product(1L, "FLT-100", "Oil Filter", 5));
+        index.index(product(2L, "FLT-200", "Oil  Pump", 9));
+        index.index(product(3L, "BRK-100", "Brake Pad", 2));
+        index.index(product(4L, "FLT-300", "Fuel Filter Assembly", 7));
+        index.markReady();
+    }
+
+    private Product product(Long id, String partNumber, String name, int stock) {
+        return Product.builder().id(id).partNumber(partNumber).partName(name).stock(stock).build();
+    }
+
+    private List<Long> ids(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(SuggestIndex.Suggestion::id).toList();
+    }
+
+    private static List<Integer> stock(List<SuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestIndex.Suggestion::stock).toList();
+    }
+
+    @Test
+    void suggest_completesPartNumbersNamesAndWordsByStock() {
+        assertEquals(List.of(2L, 1L), ids("oil", 10));
+        assertEquals(List.of(2L, 1L), ids("  OIL ", 10));
+        assertEquals(List.of(2L, 4L, 1L), ids("flt-", 10));
+        // "filter" starts a word in two names; product 4 also matches "fuel filter"
+        assertEquals(List.of(4L, 1L), ids("fil", 10));
+        assertEquals(List.of(1L), ids("oil filter", 10));
+        assertEquals(List.of(), ids("oil filters", 10));
+        assertEquals(List.of(), ids("ilter", 10));
+        assertEquals(List.of(2L), ids("f", 1));
+    }
+
+    @Test
+    void index_replacesThePreviousKeysAndStock() {
+        index.index(product(2L, "FLT-200", "Oil Pump", 1));
+        assertEquals(List.of(1L, 2L), ids("oil", 10));
+
+        index.update(null, product(1L, "FLT-100", "Air Filter", 5));
+        assertEquals(List.of(2L), ids("oil", 10));
+        assertEquals(List.of(1L), ids("air", 10));
+        assertEquals("Air Filter", index.suggest("flt-1", 1).get(0).partName());
+    }
+
+    @Test
+    void index_keepsTheTrieCompactAcrossUpdates() {
+        SuggestIndex reference = new SuggestIndex();
+        Random random = new Random(7);
+        TreeMap<Long, Product> latest = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(200);
+            Product product = product(id, "P-" + random.nextInt(50), "part " + random.nextInt(300) + " x",
+                    random.nextInt(100));
+            index.index(product);
+            latest.put(id, product);
+        }
+        latest.values().forEach(reference::index);
+
+        assertEquals(reference.nodeCount(), index.nodeCount());
+        for (String prefix : List.of("p", "p-1", "part 1", "part 29", "x")) {
+            // equal stock may come in any order
+            assertEquals(stock(reference.suggest(prefix, 20)), stock(index.suggest(prefix, 20)), prefix);
+        }
+        assertEquals(new HashSet<>(reference.suggest("part 29", 200)), new HashSet<>(index.suggest("part 29", 200)));
+    }
+
+    @Test
+    void clear_marksIndexNotReady() {
+        index.clear();
+
+        assertFalse(index.isReady());
+        assertEquals(0, index.size());
+        assertEquals(List.of(), ids("oil", 10));
+    }
+}
@@ -0,0 +1,85 @@
+package com.phasezero.catalog.metrics;
+
+import com.phasezero.catalog.bulkhead.Bulkheads;
+import com.phasezero.catalog.cache.CacheMissCoalescer;
+import com.phasezero.catalog.cache.CacheNames;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.cache.ResponseBodyCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.InventoryAggregates;
+import com.phasezero.catalog.index.InventoryReconciler;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.replica.ReplicaSet;
+import com.phasezero.catalog.service.impl.StockServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogMetricsTest {
+
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private final InventoryAggregates aggregates = new InventoryAggregates();
+    private final CacheMissCoalescer coalescer = new CacheMissCoalescer();
+    private final PartNumberFilter partNumberFilter = new PartNumberFilter(new CatalogProperties());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CatalogMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        InventoryReconciler reconciler = mock(InventoryReconciler.class);
+        when(reconciler.getLastDrift()).thenReturn(0.5);
+        metrics = new CatalogMetrics(searchIndex, aggregates, reconciler, coalescer, partNumberFilter,
+                new ProductNearCache(new CatalogProperties()), new ResponseBodyCache(new CatalogProperties()),
+                mock(StockServiceImpl.class), new Bulkheads(new CatalogProperties(), new CatalogThreads(false)),
+                new ReplicaSet(List.of(), mock(ChangeLog.class), 0));
+        metrics.bindTo(registry);
+    }
+
+    @Test
+    void gauges_followIndexState() {
+        Product product = Product.builder()
+                .id(1L).partNumber("P-1").partName("Brake Pad").category("brakes").price(10.0).stock(2)
+                .build();
+        searchIndex.index(product);
+        aggregates.index(product);
+
+        assertEquals(1.0, registry.get("catalog.products").gauge().value());
+        assertEquals(1.0, registry.get("catalog.index.size").gauge().value());
+        assertEquals(0.5, registry.get("catalog.inventory.drift").gauge().value());
+    }
+
+    @Test
+    void counters_reportInventoryHitsAndCoalescedLoads() {
+        metrics.inventoryRead(true);
+        metrics.inventoryRead(true);
+        metrics.inventoryRead(false);
+        coalescer.execute(CacheNames.SORTED_BY_PRICE, "key", () -> "value");
+
+        assertEquals(2.0, registry.get("catalog.cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("catalog.cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("catalog.cache.loads")
+                .tags("cache", CacheNames.SORTED_BY_PRICE, "result", "executed").functionCounter().count());
+    }
+
+    @Test
+    void partNumberFilter_observedFalsePositiveRate() {
+        partNumberFilter.markReady();
+        partNumberFilter.mightContain("P-1");
+        partNumberFilter.mightContain("P-2");
+        partNumberFilter.mightContain("P-3");
+        partNumberFilter.falsePositive();
+
+        assertEquals(3.0, registry.get("catalog.partnumber.filter.checks").tag("result", "negative")
+                .functionCounter().count());
+        assertEquals(0.25, registry.get("catalog.partnumber.filter.fpp").tag("kind", "observed").gauge().value());
+    }
+}
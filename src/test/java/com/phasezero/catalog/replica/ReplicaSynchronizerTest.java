@@ -0,0 +1,175 @@
+package com.phasezero.catalog.replica;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaSynchronizerTest {
+
+    private JdbcTemplate primary;
+    private Replica replica;
+    private ChangeLog changeLog;
+    private ReplicaSynchronizer synchronizer;
+
+    @BeforeEach
+    void setup() {
+        primary = new JdbcTemplate(h2());
+        primary.execute("create table products (id bigint primary key, part_number varchar(100) not null, "
+                + "part_name varchar(255) not null, category varchar(100) not null, price double precision not null, "
+                + "stock int not null, created_at timestamp(6) not null, constraint uk_part_number unique (part_number))");
+        replica = new Replica("replica-1", h2());
+
+        CatalogProperties properties = new CatalogProperties();
+        properties.getReplicas().setSyncBatchSize(2);
+        changeLog = new ChangeLog(new CatalogVersion(), properties);
+        synchronizer = new ReplicaSynchronizer(primary, changeLog,
+                new ReplicaSet(List.of(replica), changeLog, 0), properties, new CatalogThreads(false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        synchronizer.shutdown();
+    }
+
+    private static DataSource h2() {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private Product insert(long id, int stock) {
+        Product product = Product.builder()
+                .id(id).partNumber("P-" + id).partName("part " + id).category("Filters")
+                .price(10.0 * id).stock(stock).createdAt(LocalDateTime.of(2024, 5, 1, 12, 0))
+                .build();
+        primary.update("insert into products values (?, ?, ?, ?, ?, ?, ?)", product.getId(), product.getPartNumber(),
+                product.getPartName(), product.getCategory(), product.getPrice(), product.getStock(), product.getCreatedAt());
+        return product;
+    }
+
+    private List<String> replicaRows() {
+        return new JdbcTemplate(replica.dataSource()).queryForList(
+                "select part_number || ':' || stock from products order by id", String.class);
+    }
+
+    @Test
+    void sync_copiesTheTableThenFollowsTheChangeLog() {
+        insert(1, 5);
+        insert(2, 3);
+        insert(3, 0);
+
+        synchronizer.sync(replica);
+
+        assertEquals(List.of("P-1:5", "P-2:3", "P-3:0"), replicaRows());
+        assertEquals(0, replica.applied());
+
+        Product created = insert(4, 7);
+        changeLog.append(ChangeEvent.Operation.CREATED, created);
+        primary.update("update products set stock = 9 where id = 1");
+        changeLog.append(ChangeEvent.Operation.UPDATED, Product.builder().id(1L).partNumber("P-1").build());
+        changeLog.append(ChangeEvent.Operation.UPDATED, Product.builder().id(1L).partNumber("P-1").build());
+
+        synchronizer.sync(replica);
+
+        assertEquals(List.of("P-1:9", "P-2:3", "P-3:0", "P-4:7"), replicaRows());
+        assertEquals(3, replica.applied());
+        // the unique constraint came across with the table
+        assertThrows(DataIntegrityViolationException.class, () -> new JdbcTemplate(replica.dataSource()).update(
+                "insert into products values (9, 'P-1', 'dup', 'Filters', 1.0, 1, current_timestamp)"));
+    }
+
+    @Test
+    void pick_skipsReplicasOutsideTheLagBudget() {
+        Replica second = new Replica("replica-2", h2());
+        ReplicaSet replicas = new ReplicaSet(List.of(replica, second), changeLog, 1);
+        assertNull(replicas.pick(), "nothing is synced yet");
+
+        replica.applied(0);
+        second.applied(0);
+        changeLog.append(ChangeEvent.Operation.CREATED, insert(1, 1));
+        assertNull(replicas.pick(), "without a lag scope a replica must have applied every change");
+        try (ReplicaSet.LagScope lag = replicas.tolerateLag()) {
+            assertSame(replica, replicas.pick());
+            assertSame(second, replicas.pick());
+
+            changeLog.append(ChangeEvent.Operation.CREATED, insert(2, 1));
+            second.applied(2);
+            assertEquals(2, replicas.lag(replica));
+            assertSame(second, replicas.pick());
+            assertSame(second, replicas.pick());
+        }
+        assertSame(second, replicas.pick());
+        assertEquals(2, replicas.primaryReads());
+    }
+
+    @Test
+    void readOnlyTransactions_goToAReplicaInRange() {
+        insert(1, 5);
+        synchronizer.sync(replica);
+        // diverge the copies to see where each query went
+        new JdbcTemplate(replica.dataSource()).update("update products set stock = 42 where id = 1");
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary.getDataSource());
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary.getDataSource(),
+                new ReplicaSet(List.of(replica), changeLog, 0)));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        String stock = "select stock from products where id = 1";
+
+        assertEquals(42, readOnly.<Integer>execute(status -> jdbcTemplate.queryForObject(stock, Integer.class)));
+        assertEquals(5, readWrite.<Integer>execute(status -> jdbcTemplate.queryForObject(stock, Integer.class)));
+
+        changeLog.append(ChangeEvent.Operation.UPDATED, Product.builder().id(1L).partNumber("P-1").build());
+        assertEquals(5, readOnly.<Integer>execute(status -> jdbcTemplate.queryForObject(stock, Integer.class)),
+                "a replica behind the write sequence is skipped");
+    }
+
+    @Test
+    void searchAfterAddProduct_readsThePrimaryUntilTheReplicaHasTheRow() {
+        insert(1, 5);
+        synchronizer.sync(replica);
+        // a generous max-lag, as an export-heavy deployment might set
+        ReplicaSet replicas = new ReplicaSet(List.of(replica), changeLog, 1000);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary.getDataSource());
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary.getDataSource(), replicas));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        String search = "select part_number from products where lower(part_name) like '%part%' order by id";
+
+        // addProduct commits, then appends to the change log before it evicts the caches
+        changeLog.append(ChangeEvent.Operation.CREATED, insert(2, 3));
+
+        assertEquals(List.of("P-1", "P-2"),
+                readOnly.execute(status -> jdbcTemplate.queryForList(search, String.class)),
+                "a cache refill must not come from a replica missing the new product");
+        try (ReplicaSet.LagScope lag = replicas.tolerateLag()) {
+            assertEquals(List.of("P-1"), readOnly.execute(status -> jdbcTemplate.queryForList(search, String.class)),
+                    "an uncached read may use the trailing replica");
+        }
+
+        synchronizer.sync(replica);
+        assertEquals(List.of("P-1", "P-2"),
+                readOnly.execute(status -> jdbcTemplate.queryForList(search, String.class)));
+        assertEquals(1, replicas.primaryReads());
+    }
+}
@@ -0,0 +1,92 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.config.CatalogThreads;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.ChangeFeedResponse;
+import com.phasezero.catalog.exception.ResyncRequiredException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.feed.ChangeStream;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.service.impl.ChangeFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ChangeFeedServiceImplTest {
+
+    private ChangeLog changeLog;
+    private ChangeStream changeStream;
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getChanges().setMaxPageSize(2);
+        changeLog = new ChangeLog(new CatalogVersion(), properties);
+        changeStream = spy(new ChangeStream(changeLog, properties, new CatalogThreads(false)));
+        changeFeedService = new ChangeFeedServiceImpl(changeLog, changeStream, properties);
+
+        for (long id = 1; id <= 3; id++) {
+            changeLog.append(ChangeEvent.Operation.CREATED, Product.builder().id(id).partNumber("P-" + id)
+                    .partName("part").category("filters").price(1.0).stock(1).build());
+        }
+    }
+
+    @Test
+    void getChanges_withoutSince_returnsCurrentPosition() {
+        ChangeFeedResponse response = changeFeedService.getChanges(null, null, 500);
+
+        assertEquals(changeLog.epoch(), response.epoch());
+        assertEquals(3, response.next());
+        assertTrue(response.changes().isEmpty());
+        assertFalse(response.hasMore());
+    }
+
+    @Test
+    void getChanges_pagesUpToMaxPageSize() {
+        ChangeFeedResponse first = changeFeedService.getChanges(0L, changeLog.epoch(), 500);
+
+        assertEquals(2, first.changes().size());
+        assertEquals(2, first.next());
+        assertTrue(first.hasMore());
+
+        ChangeFeedResponse second = changeFeedService.getChanges(first.next(), first.epoch(), 500);
+        assertEquals(1, second.changes().size());
+        assertEquals(3, second.next());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void getChanges_cursorFromAnotherEpoch_requiresResync() {
+        assertThrows(ResyncRequiredException.class, () -> changeFeedService.getChanges(1L, "old-epoch", 500));
+    }
+
+    @Test
+    void getChanges_cursorWithoutEpoch_requiresResync() {
+        assertThrows(ResyncRequiredException.class, () -> changeFeedService.getChanges(1L, null, 500));
+        assertThrows(ResyncRequiredException.class, () -> changeFeedService.getChanges(1L, " ", 500));
+    }
+
+    @Test
+    void streamChanges_lastEventIdMustCarryTheCurrentEpoch() {
+        // a client of an earlier process: sequence 2 exists here too, but means something else
+        changeFeedService.streamChanges(null, null, "old-epoch:2");
+        changeFeedService.streamChanges(null, null, "2");
+        changeFeedService.streamChanges(2L, null, null);
+        verify(changeStream, times(3)).subscribe(2L, false);
+        changeFeedService.streamChanges(null, null, "garbage");
+        verify(changeStream).subscribe(3L, false);
+
+        changeFeedService.streamChanges(null, null, changeStream.eventId(2));
+        verify(changeStream).subscribe(2L, true);
+    }
+
+    @Test
+    void getChanges_invalidLimit_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChanges(0L, null, 0));
+    }
+}
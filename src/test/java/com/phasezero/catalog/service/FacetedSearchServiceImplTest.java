@@ -0,0 +1,132 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.FacetCount;
+import com.phasezero.catalog.dto.FacetedSearchResponse;
+import com.phasezero.catalog.dto.ProductResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.FacetIndex;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.impl.FacetedSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FacetedSearchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private FacetIndex facetIndex;
+    private ProductSearchIndex searchIndex;
+    private FacetedSearchServiceImpl facetedSearchService;
+    private final Map<Long, Product> products = new HashMap<>();
+
+    @BeforeEach
+    void setup() {
+        facetIndex = new FacetIndex(new CatalogProperties());
+        searchIndex = new ProductSearchIndex();
+        facetedSearchService = new FacetedSearchServiceImpl(facetIndex, searchIndex, productRepository,
+                new CatalogProperties());
+
+        add(1L, "oil filter", "filters", 8.0);
+        add(2L, "air filter", "filters", 25.0);
+        add(3L, "fuel filter", "fuel", 30.0);
+        add(4L, "brake pad", "brakes", 40.0);
+
+        lenient().when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>();
+            Iterable<Long> ids = invocation.getArgument(0);
+            for (Long id : ids) {
+                found.add(products.get(id));
+            }
+            // the repository does not promise any order
+            Collections.reverse(found);
+            return found;
+        });
+    }
+
+    private void add(Long id, String name, String category, double price) {
+        Product product = Product.builder().id(id).partNumber("P-" + id).partName(name)
+                .category(category).price(price).stock(1).build();
+        products.put(id, product);
+        facetIndex.index(product);
+        searchIndex.index(product);
+    }
+
+    private void ready() {
+        facetIndex.markReady();
+        searchIndex.markReady();
+    }
+
+    @Test
+    void search_returnsPageAndFacetCountsInOneCall() {
+        ready();
+
+        FacetedSearchResponse response = facetedSearchService.search("Filter", null, "10-50", null, 1);
+
+        assertEquals(2, response.total());
+        assertEquals(List.of(2L), response.items().stream().map(ProductResponse::id).collect(Collectors.toList()));
+        assertNotNull(response.nextCursor());
+        assertEquals(List.of(new FacetCount("filters", 1), new FacetCount("fuel", 1)), response.categories());
+        assertEquals(new FacetCount("0-10", 1), response.priceBands().get(0));
+        assertEquals(new FacetCount("10-50", 2), response.priceBands().get(1));
+
+        FacetedSearchResponse next = facetedSearchService.search("Filter", null, "10-50", response.nextCursor(), 1);
+        assertEquals(List.of(3L), next.items().stream().map(ProductResponse::id).collect(Collectors.toList()));
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void search_noMatches_skipsRepository() {
+        ready();
+
+        FacetedSearchResponse response = facetedSearchService.search("gasket", null, null, null, 20);
+
+        assertEquals(0, response.total());
+        assertTrue(response.items().isEmpty());
+        assertTrue(response.categories().isEmpty());
+        verify(productRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void search_beforeIndexesAreReady_throwsNotReady() {
+        assertThrows(CatalogNotReadyException.class,
+                () -> facetedSearchService.search(null, "filters", null, null, 20));
+    }
+
+    @Test
+    void search_unknownPriceBand_throwsIllegalArgument() {
+        ready();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> facetedSearchService.search(null, null, "1-2", null, 20));
+    }
+
+    @Test
+    void search_sizeOutsideTheCap_throwsIllegalArgument() {
+        ready();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> facetedSearchService.search(null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> facetedSearchService.search(null, null, null, null, Integer.MAX_VALUE));
+        assertEquals(4, facetedSearchService.search(null, null, null, null, 100).items().size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ScoredProductResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.impl.FuzzySearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FuzzySearchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex searchIndex;
+    private FuzzySearchServiceImpl fuzzySearchService;
+
+    @BeforeEach
+    void setup() {
+        searchIndex = new ProductSearchIndex();
+        fuzzySearchService = new FuzzySearchServiceImpl(searchIndex, productRepository, new CatalogProperties());
+    }
+
+    private Product product(Long id, String name) {
+        Product product = Product.builder().id(id).partNumber("P-" + id).partName(name)
+                .category("filters").price(10.0).stock(1).build();
+        searchIndex.index(product);
+        return product;
+    }
+
+    @Test
+    void search_returnsProductsInRankOrder() {
+        Product oil = product(1L, "oil filter");
+        Product fuel = product(2L, "fuel filter assembly");
+        product(3L, "brake pad");
+        searchIndex.markReady();
+        // the repository does not promise any order
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(fuel, oil));
+
+        List<ScoredProductResponse> result = fuzzySearchService.search("fuel filtr", 5, 0.3);
+
+        assertEquals(List.of("P-2", "P-1"), result.stream().map(scored -> scored.product().partNumber()).toList());
+        assertTrue(result.get(0).score() > result.get(1).score());
+    }
+
+    @Test
+    void search_rejectsUnboundedOrInvalidRequests() {
+        searchIndex.markReady();
+
+        assertThrows(IllegalArgumentException.class, () -> fuzzySearchService.search("filter", 0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> fuzzySearchService.search("filter", 101, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> fuzzySearchService.search("filter", 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> fuzzySearchService.search("filter", 10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> fuzzySearchService.search(" ", 10, 0.5));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void search_indexNotReady_throws() {
+        assertThrows(CatalogNotReadyException.class, () -> fuzzySearchService.search("filter", 10, 0.5));
+    }
+}
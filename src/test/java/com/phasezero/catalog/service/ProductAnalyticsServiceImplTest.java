@@ -0,0 +1,80 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.dto.CatalogSummaryResponse;
+import com.phasezero.catalog.dto.CategoryAnalyticsResponse;
+import com.phasezero.catalog.dto.PriceHistogramResponse;
+import com.phasezero.catalog.exception.CatalogNotReadyException;
+import com.phasezero.catalog.index.ColumnarSnapshot;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.service.impl.ProductAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductAnalyticsServiceImplTest {
+
+    private ColumnarSnapshot snapshot;
+    private ProductAnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setup() {
+        snapshot = new ColumnarSnapshot();
+        analyticsService = new ProductAnalyticsServiceImpl(snapshot);
+    }
+
+    private void index(Long id, String category, double price, int stock) {
+        snapshot.index(Product.builder().id(id).partNumber("P-" + id).partName("part " + id)
+                .category(category).price(price).stock(stock).build());
+    }
+
+    @Test
+    void reports_beforeSnapshotIsReady_throwNotReady() {
+        assertThrows(CatalogNotReadyException.class, () -> analyticsService.getSummary());
+        assertThrows(CatalogNotReadyException.class, () -> analyticsService.getPriceHistogram(null, 10));
+    }
+
+    @Test
+    void getSummary_combinesCategories() {
+        index(1L, "filters", 100.0, 2);
+        index(2L, "filters", 50.0, 4);
+        index(3L, "brakes", 30.0, 1);
+        snapshot.markReady();
+
+        assertEquals(new CatalogSummaryResponse(3, 2, 7, 430.0, 30.0, 100.0, 60.0), analyticsService.getSummary());
+        assertEquals(new CategoryAnalyticsResponse("filters", 2, 6, 400.0, 50.0, 100.0, 75.0),
+                analyticsService.getCategoryAnalytics().get(1));
+    }
+
+    @Test
+    void getSummary_emptyCatalog_returnsZeros() {
+        snapshot.markReady();
+
+        assertEquals(new CatalogSummaryResponse(0, 0, 0, 0.0, 0.0, 0.0, 0.0), analyticsService.getSummary());
+    }
+
+    @Test
+    void getPriceHistogram_returnsBucketBounds() {
+        index(1L, "filters", 10.0, 1);
+        index(2L, "filters", 30.0, 2);
+        snapshot.markReady();
+
+        PriceHistogramResponse histogram = analyticsService.getPriceHistogram(" filters ", 2);
+
+        assertEquals("filters", histogram.category());
+        assertEquals(List.of(
+                new PriceHistogramResponse.Bucket(10.0, 20.0, 1, 1),
+                new PriceHistogramResponse.Bucket(20.0, 30.0, 1, 2)
+        ), histogram.buckets());
+    }
+
+    @Test
+    void getPriceHistogram_invalidBuckets_throwsIllegalArgument() {
+        snapshot.markReady();
+
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getPriceHistogram(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getPriceHistogram(null, 1001));
+    }
+}
@@ -0,0 +1,86 @@
+package com.phasezero.catalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ExportFormat;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.replica.ReplicaSet;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.impl.ProductExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductExportServiceImpl exportService;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getExport().setClearInterval(2);
+        exportService = new ProductExportServiceImpl(
+                productRepository, entityManager, new ObjectMapper(), properties,
+                new ReplicaSet(List.of(), null, 0));
+
+        Product p1 = Product.builder()
+                .id(1L).partNumber("P-1001").partName("filter, \"hydraulic\"")
+                .category("filters").price(1200.5).stock(10)
+                .build();
+        Product p2 = Product.builder()
+                .id(2L).partNumber("P-1002").partName("oil filter")
+                .category("filters").price(800.0).stock(5)
+                .build();
+        Product p3 = Product.builder()
+                .id(3L).partNumber("P-1003").partName("brake pad")
+                .category("brakes").price(55.0).stock(25)
+                .build();
+        when(productRepository.streamAllOrderById()).thenReturn(Stream.of(p1, p2, p3));
+    }
+
+    @Test
+    void exportProducts_writesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = exportService.exportProducts(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, exported);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"partNumber\":\"P-1001\""));
+        assertTrue(lines[2].startsWith("{\"id\":3,"));
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void exportProducts_writesEscapedCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportProducts(ExportFormat.CSV, out);
+
+        assertEquals("""
+                id,partNumber,partName,category,price,stock
+                1,P-1001,"filter, ""hydraulic\""",filters,1200.5,10
+                2,P-1002,oil filter,filters,800.0,5
+                3,P-1003,brake pad,brakes,55.0,25
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+}
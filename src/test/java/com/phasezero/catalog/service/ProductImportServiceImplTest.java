@@ -0,0 +1,191 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.BulkImportResult;
+import com.phasezero.catalog.dto.BulkImportRowResult.Status;
+import com.phasezero.catalog.dto.ProductRequest;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.impl.ProductImportServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CatalogIndexManager indexManager;
+
+    @Mock
+    private CatalogCaches catalogCaches;
+
+    @Mock
+    private ProductNearCache nearCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private PartNumberFilter partNumberFilter;
+
+    private ChangeLog changeLog;
+
+    private ProductImportServiceImpl importService;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getBulk().setChunkSize(2);
+
+        partNumberFilter = new PartNumberFilter(properties);
+        CatalogVersion catalogVersion = new CatalogVersion();
+        changeLog = new ChangeLog(catalogVersion, properties);
+
+        importService = new ProductImportServiceImpl(
+                productRepository,
+                indexManager,
+                partNumberFilter,
+                catalogCaches,
+                nearCache,
+                catalogVersion,
+                changeLog,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager),
+                entityManager,
+                properties
+        );
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(indexManager).runShared(any());
+
+        AtomicLong ids = new AtomicLong();
+        lenient().when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(p -> p.setId(ids.incrementAndGet()));
+            return products;
+        });
+    }
+
+    private ProductRequest request(String partNumber, double price) {
+        return new ProductRequest(partNumber, "Oil Filter", "filters", price, 5);
+    }
+
+    @Test
+    void importProducts_reportsEachRow() {
+        when(productRepository.findExistingPartNumbers(anyCollection())).thenReturn(List.of());
+        when(productRepository.findExistingPartNumbers(List.of("P-3"))).thenReturn(List.of("P-3"));
+
+        BulkImportResult result = importService.importProducts(List.of(
+                request("P-1", 10.0),
+                request(" P-1 ", 10.0),
+                request("P-2", -1.0),
+                request("P-3", 10.0),
+                request("P-4", 10.0)
+        ).iterator());
+
+        assertEquals(5, result.total());
+        assertEquals(2, result.created());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.DUPLICATE, Status.CREATED),
+                result.rows().stream().map(row -> row.status()).toList());
+        assertEquals("price cannot be negative", result.rows().get(2).error());
+        assertNotNull(result.rows().get(4).id());
+
+        // one lookup per chunk: [P-1, P-1], [P-2, P-3], [P-4]
+        verify(productRepository, times(3)).findExistingPartNumbers(anyCollection());
+        verify(productRepository, never()).existsByPartNumber(anyString());
+        verify(indexManager, times(2)).productSaved(any(Product.class));
+        verify(catalogCaches, times(2)).evictAll();
+        assertEquals(2, changeLog.latest());
+    }
+
+    @Test
+    void importProducts_looksUpOnlyPossiblePositives() {
+        partNumberFilter.index(Product.builder().id(1L).partNumber("P-3").build());
+        partNumberFilter.markReady();
+        when(productRepository.findExistingPartNumbers(List.of("P-3"))).thenReturn(List.of("P-3"));
+
+        BulkImportResult result = importService.importProducts(List.of(
+                request("P-1", 10.0),
+                request("P-2", 10.0),
+                request("P-3", 10.0)
+        ).iterator());
+
+        assertEquals(2, result.created());
+        assertEquals(Status.DUPLICATE, result.rows().get(2).status());
+        // chunk [P-1, P-2] is ruled out by the filter alone
+        verify(productRepository, times(1)).findExistingPartNumbers(anyCollection());
+    }
+
+    private static DataIntegrityViolationException violation(String constraint,
+                                                             ConstraintViolationException.ConstraintKind kind,
+                                                             String message) {
+        SQLException sqlException = new SQLException(message);
+        return new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("could not execute batch", sqlException, kind, constraint));
+    }
+
+    @Test
+    void importProducts_rowByRowRetry_reportsOnlyPartNumberCollisionsAsDuplicates() {
+        DataIntegrityViolationException taken = violation("PUBLIC.UK_PART_NUMBER_INDEX_F",
+                ConstraintViolationException.ConstraintKind.UNIQUE, "Unique index or primary key violation");
+        DataIntegrityViolationException notNull = violation(null, ConstraintViolationException.ConstraintKind.OTHER,
+                "NULL not allowed for column \"CREATED_AT\"; SQL statement:\ninsert into products values (?)");
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            if (products.size() > 1) {
+                throw taken;
+            }
+            throw "P-1".equals(products.get(0).getPartNumber()) ? taken : notNull;
+        });
+
+        BulkImportResult result = importService.importProducts(List.of(
+                request("P-1", 10.0),
+                request("P-2", 10.0)
+        ).iterator());
+
+        assertEquals(0, result.created());
+        assertEquals(Status.DUPLICATE, result.rows().get(0).status());
+        assertEquals(Status.INVALID, result.rows().get(1).status());
+        assertEquals("Rejected by the database: NULL not allowed for column \"CREATED_AT\"; SQL statement:",
+                result.rows().get(1).error());
+    }
+
+    @Test
+    void importProducts_emptyInput() {
+        BulkImportResult result = importService.importProducts(List.<ProductRequest>of().iterator());
+
+        assertEquals(0, result.total());
+        verifyNoInteractions(productRepository);
+    }
+}
@@ -1,16 +1,33 @@
 package com.phasezero.catalog.service;
 
+import com.phasezero.catalog.cache.CacheMissCoalescer;
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.ChangeEvent;
+import com.phasezero.catalog.dto.CursorPage;
 import com.phasezero.catalog.dto.ProductRequest;
 import com.phasezero.catalog.dto.ProductResponse;
 import com.phasezero.catalog.exception.ProductAlreadyExistsException;
+import com.phasezero.catalog.exception.ResourceNotFoundException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.index.InventoryAggregates;
+import com.phasezero.catalog.index.PartNumberFilter;
+import com.phasezero.catalog.index.ProductSearchIndex;
+import com.phasezero.catalog.metrics.CatalogMetrics;
 import com.phasezero.catalog.model.Product;
 import com.phasezero.catalog.repository.ProductRepository;
 import com.phasezero.catalog.service.impl.ProductServiceImpl;
+import com.phasezero.catalog.util.CursorUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
@@ -18,6 +35,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,9 +48,54 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private InventoryAggregates inventoryAggregates;
+
+    @Mock
+    private CatalogIndexManager indexManager;
+
+    @Mock
+    private CatalogCaches catalogCaches;
+
+    @Spy
+    private CacheMissCoalescer missCoalescer = new CacheMissCoalescer();
+
+    @Mock
+    private CatalogMetrics catalogMetrics;
+
+    @Spy
+    private PartNumberFilter partNumberFilter = new PartNumberFilter(new CatalogProperties());
+
+    @Spy
+    private ProductNearCache nearCache = new ProductNearCache(new CatalogProperties());
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @Mock
+    private ChangeLog changeLog;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
+    // set while the mocked index manager runs a shared section
+    private boolean shared;
+
+    @BeforeEach
+    void setup() {
+        lenient().when(indexManager.callShared(any())).thenAnswer(invocation -> {
+            shared = true;
+            try {
+                return invocation.<Supplier<?>>getArgument(0).get();
+            } finally {
+                shared = false;
+            }
+        });
+    }
+
     private ProductRequest createValidRequest() {
         return new ProductRequest(
                 "P-1001",
@@ -62,7 +126,14 @@ class ProductServiceImplTest {
         when(productRepository.existsByPartNumber("P-1001")).thenReturn(false);
 
         Product saved = createEntityFromRequest(request);
-        when(productRepository.save(any(Product.class))).thenReturn(saved);
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            assertTrue(shared, "the insert must not commit outside the shared section");
+            return saved;
+        });
+        doAnswer(invocation -> {
+            assertTrue(shared, "a rebuild must not run between the commit and the index update");
+            return null;
+        }).when(indexManager).productSaved(saved);
 
         ProductResponse response = productService.addProduct(request);
 
@@ -75,6 +146,27 @@ class ProductServiceImplTest {
 
         verify(productRepository).existsByPartNumber("P-1001");
         verify(productRepository).save(any(Product.class));
+        // the write sequence moves before the caches are emptied, so replicas count as behind for the refill
+        InOrder inOrder = inOrder(indexManager, changeLog, catalogCaches, catalogVersion);
+        inOrder.verify(indexManager).productSaved(saved);
+        inOrder.verify(changeLog).append(ChangeEvent.Operation.CREATED, saved);
+        inOrder.verify(catalogCaches).productSaved(saved);
+        inOrder.verify(catalogVersion).bump();
+        assertEquals(1, catalogVersion.current());
+    }
+
+    @Test
+    void addProduct_definiteNegativeFromFilter_skipsExistsCheck() {
+        ProductRequest request = createValidRequest();
+        partNumberFilter.markReady();
+
+        Product saved = createEntityFromRequest(request);
+        when(productRepository.save(any(Product.class))).thenReturn(saved);
+
+        productService.addProduct(request);
+
+        verify(productRepository, never()).existsByPartNumber(anyString());
+        verify(productRepository).save(any(Product.class));
     }
 
     @Test
@@ -88,6 +180,7 @@ class ProductServiceImplTest {
 
         verify(productRepository).existsByPartNumber("P-1001");
         verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(catalogCaches);
     }
 
     @Test
@@ -148,9 +241,9 @@ class ProductServiceImplTest {
         int page = 0;
         int size = 2;
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"));
-        Page<Product> productPage = new PageImpl<>(Arrays.asList(p1, p2), pageable, 2);
+        Slice<Product> productSlice = new SliceImpl<>(Arrays.asList(p1, p2), pageable, false);
 
-        when(productRepository.findAll(pageable)).thenReturn(productPage);
+        when(productRepository.findAllBy(pageable)).thenReturn(productSlice);
 
         // Act
         List<ProductResponse> result = productService.getAllProducts(page, size);
@@ -159,7 +252,68 @@ class ProductServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("P-1001", result.get(0).partNumber());
         assertEquals("P-1002", result.get(1).partNumber());
-        verify(productRepository).findAll(pageable);
+        verify(productRepository).findAllBy(pageable);
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void getProductsAfter_seeksPastCursorId() {
+        Product p3 = Product.builder()
+                .id(3L).partNumber("P-1003").partName("brake pad")
+                .category("brakes").price(55.0).stock(25)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        when(productRepository.findByIdGreaterThan(2L, pageable))
+                .thenReturn(new SliceImpl<>(List.of(p3), pageable, true));
+
+        CursorPage<ProductResponse> result = productService.getProductsAfter(CursorUtil.encodeId(2L), 1);
+
+        assertEquals(1, result.items().size());
+        assertEquals("P-1003", result.items().get(0).partNumber());
+        assertEquals(3L, CursorUtil.decodeId(result.nextCursor()));
+    }
+
+    @Test
+    void getProductsAfter_lastPageHasNoCursor() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        when(productRepository.findAllBy(pageable))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        CursorPage<ProductResponse> result = productService.getProductsAfter(null, 20);
+
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void sortByPriceAscending_seeksPastPriceAndId() {
+        Product p2 = Product.builder()
+                .id(2L).partNumber("P-1002").partName("oil filter")
+                .category("filters").price(800.00).stock(5)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        Pageable pageable = PageRequest.of(0, 1,
+                Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id")));
+        when(productRepository.findByPriceAfter(800.00, 1L, pageable))
+                .thenReturn(new SliceImpl<>(List.of(p2), pageable, true));
+
+        CursorPage<ProductResponse> result =
+                productService.sortByPriceAscending(CursorUtil.encodePrice(800.00, 1L), 1);
+
+        assertEquals("P-1002", result.items().get(0).partNumber());
+        assertEquals(new CursorUtil.PriceCursor(800.00, 2L), CursorUtil.decodePrice(result.nextCursor()));
+    }
+
+    @Test
+    void sortByPriceAscending_rejectsForeignCursor() {
+        String idCursor = CursorUtil.encodeId(5L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.sortByPriceAscending(idCursor, 20));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -181,7 +335,7 @@ class ProductServiceImplTest {
     }
 
     @Test
-    void filterByCategory_returnsMatchingProducts() {
+    void searchByName_usesIndexWhenReady() {
         Product p1 = Product.builder()
                 .id(1L).partNumber("P-1001").partName("hydraulic filter")
                 .category("filters").price(1200.50).stock(10)
@@ -194,35 +348,108 @@ class ProductServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(productRepository.findByCategoryIgnoreCase("filters"))
-                .thenReturn(Arrays.asList(p1, p2));
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("filter")).thenReturn(List.of(1L, 2L));
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(p2, p1));
 
-        List<ProductResponse> result = productService.filterByCategory("filters");
+        List<ProductResponse> result = productService.searchByName("filter");
 
         assertEquals(2, result.size());
-        verify(productRepository).findByCategoryIgnoreCase("filters");
+        assertEquals("P-1001", result.get(0).partNumber());
+        assertEquals("P-1002", result.get(1).partNumber());
+        verify(productRepository, never()).findByPartNameContainingIgnoreCase(anyString());
     }
 
     @Test
-    void getTotalInventoryValue_returnsCorrectSum() {
+    void filterByCategory_returnsMatchingProducts() {
         Product p1 = Product.builder()
                 .id(1L).partNumber("P-1001").partName("hydraulic filter")
-                .category("filters").price(100.0).stock(2)
+                .category("filters").price(1200.50).stock(10)
                 .createdAt(LocalDateTime.now())
                 .build();
 
         Product p2 = Product.builder()
                 .id(2L).partNumber("P-1002").partName("oil filter")
-                .category("filters").price(50.0).stock(4)
+                .category("filters").price(800.00).stock(5)
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        when(productRepository.findAll()).thenReturn(Arrays.asList(p1, p2));
+        when(productRepository.findByCategoryIgnoreCase("filters"))
+                .thenReturn(Arrays.asList(p1, p2));
+
+        List<ProductResponse> result = productService.filterByCategory("filters");
 
-        double value = productService.getTotalInventoryValue();
+        assertEquals(2, result.size());
+        verify(productRepository).findByCategoryIgnoreCase("filters");
+    }
 
+    @Test
+    void getTotalInventoryValue_returnsCorrectSum() {
         // 100*2 + 50*4 = 200 + 200 = 400
+        when(productRepository.sumInventoryValue()).thenReturn(400.0);
+
+        double value = productService.getTotalInventoryValue();
+
+        assertEquals(400.0, value);
+        verify(productRepository).sumInventoryValue();
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void getTotalInventoryValue_readsRunningAggregateWhenReady() {
+        when(inventoryAggregates.isReady()).thenReturn(true);
+        when(inventoryAggregates.totalValue()).thenReturn(400.0);
+
+        double value = productService.getTotalInventoryValue();
+
         assertEquals(400.0, value);
-        verify(productRepository).findAll();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductById_secondLookupServedFromNearCache() {
+        Product product = createEntityFromRequest(createValidRequest());
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+
+        assertEquals("P-1001", productService.getProductById(1L).partNumber());
+        assertEquals("P-1001", productService.getProductById(1L).partNumber());
+        // cached under the part number as well
+        assertEquals(1L, productService.getProductByPartNumber("P-1001").id());
+
+        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, never()).findByPartNumber(anyString());
+    }
+
+    @Test
+    void getProductByPartNumber_unknownPartNumberIsNegativelyCached() {
+        when(productRepository.findByPartNumber("P-404")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductByPartNumber("P-404"));
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductByPartNumber("P-404"));
+
+        verify(productRepository, times(1)).findByPartNumber("P-404");
+    }
+
+    @Test
+    void getProductByPartNumber_filterNegativeSkipsDatabase() {
+        partNumberFilter.markReady();
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductByPartNumber("P-404"));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void addProduct_clearsEarlierMissForPartNumber() {
+        ProductRequest request = createValidRequest();
+        when(productRepository.findByPartNumber("P-1001")).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductByPartNumber("P-1001"));
+
+        Product saved = createEntityFromRequest(request);
+        when(productRepository.save(any(Product.class))).thenReturn(saved);
+        productService.addProduct(request);
+
+        assertEquals(1L, productService.getProductByPartNumber("P-1001").id());
+        verify(productRepository, times(1)).findByPartNumber("P-1001");
     }
 }
@@ -0,0 +1,266 @@
+package com.phasezero.catalog.service;
+
+import com.phasezero.catalog.cache.CatalogCaches;
+import com.phasezero.catalog.cache.CatalogVersion;
+import com.phasezero.catalog.cache.ProductNearCache;
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.dto.StockAdjustment;
+import com.phasezero.catalog.dto.StockAdjustmentResult;
+import com.phasezero.catalog.dto.StockAdjustmentResult.Status;
+import com.phasezero.catalog.dto.StockLevelResponse;
+import com.phasezero.catalog.exception.InsufficientStockException;
+import com.phasezero.catalog.exception.ResourceNotFoundException;
+import com.phasezero.catalog.feed.ChangeLog;
+import com.phasezero.catalog.index.CatalogIndex;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.index.InventoryAggregates;
+import com.phasezero.catalog.model.Product;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.impl.StockServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CatalogCaches catalogCaches;
+
+    @Mock
+    private ProductNearCache nearCache;
+
+    private InventoryAggregates aggregates;
+    private CatalogVersion catalogVersion;
+    private ChangeLog changeLog;
+    private StockServiceImpl stockService;
+
+    @BeforeEach
+    void setup() {
+        CatalogProperties properties = new CatalogProperties();
+        aggregates = new InventoryAggregates();
+        catalogVersion = new CatalogVersion();
+        changeLog = new ChangeLog(catalogVersion, properties);
+        CatalogIndexManager indexManager = new CatalogIndexManager(productRepository, List.of(aggregates), properties);
+
+        stockService = new StockServiceImpl(productRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), indexManager, catalogCaches, nearCache,
+                catalogVersion, changeLog, properties);
+
+        Product product = product(1L, "P-1", 10.0, 5);
+        aggregates.index(product);
+        lenient().when(productRepository.findByPartNumber("P-1")).thenReturn(Optional.of(product));
+        lenient().when(productRepository.findByPartNumber("P-404")).thenReturn(Optional.empty());
+    }
+
+    private Product product(Long id, String partNumber, double price, int stock) {
+        return Product.builder().id(id).partNumber(partNumber).partName("oil filter")
+                .category("filters").price(price).stock(stock).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<long[]> flushedRows() throws Exception {
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture(), anyInt(), setter.capture());
+
+        List<long[]> flushed = new ArrayList<>();
+        for (Object row : rows.getValue()) {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            setter.getValue().setValues(ps, row);
+            ArgumentCaptor<Long> values = ArgumentCaptor.forClass(Long.class);
+            verify(ps, times(2)).setLong(anyInt(), values.capture());
+            flushed.add(new long[]{values.getAllValues().get(0), values.getAllValues().get(1)});
+        }
+        return flushed;
+    }
+
+    @Test
+    void adjustStock_coalescesDeltasIntoOneUpdatePerProduct() throws Exception {
+        stockService.adjustStock("P-1", -1, false);
+        stockService.adjustStock("P-1", -1, false);
+        StockLevelResponse level = stockService.adjustStock("P-1", 4, false);
+
+        assertEquals(7, level.stock());
+        assertEquals(2, level.pending());
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(50.0, aggregates.totalValue());
+
+        assertEquals(1, stockService.flush());
+
+        List<long[]> flushed = flushedRows();
+        assertEquals(1, flushed.size());
+        assertArrayEquals(new long[]{2, 1}, flushed.get(0));
+        assertEquals(70.0, aggregates.totalValue());
+        assertEquals(1, aggregates.count());
+        assertEquals(0, stockService.pendingProducts());
+        assertEquals(1, catalogVersion.current());
+        assertEquals(7, changeLog.since(0, 10).get(0).product().stock());
+        verify(nearCache).evict(any(Product.class));
+        verify(productRepository, times(1)).findByPartNumber("P-1");
+    }
+
+    @Test
+    void adjustStock_rejectsTakingStockBelowZero() {
+        stockService.adjustStock("P-1", -5, false);
+
+        assertThrows(InsufficientStockException.class, () -> stockService.adjustStock("P-1", -1, false));
+        assertEquals(0, stockService.adjustStock("P-1", 0, false).stock());
+    }
+
+    @Test
+    void adjustStock_unknownPartNumber_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> stockService.adjustStock("P-404", 1, false));
+        assertEquals(0, stockService.pendingProducts());
+    }
+
+    @Test
+    void adjustStock_sync_flushesBeforeReturning() throws Exception {
+        StockLevelResponse level = stockService.adjustStock("P-1", -2, true);
+
+        assertEquals(3, level.stock());
+        assertEquals(0, level.pending());
+        assertArrayEquals(new long[]{-2, 1}, flushedRows().get(0));
+        assertEquals(30.0, aggregates.totalValue());
+    }
+
+    @Test
+    void flush_failedWrite_keepsDeltasPending() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[][]{{1}});
+        stockService.adjustStock("P-1", -3, false);
+
+        assertThrows(QueryTimeoutException.class, () -> stockService.flush());
+        assertEquals(1, stockService.pendingProducts());
+        assertEquals(50.0, aggregates.totalValue());
+
+        assertEquals(1, stockService.flush());
+        assertEquals(20.0, aggregates.totalValue());
+        assertEquals(0, stockService.flush());
+    }
+
+    @Test
+    void flush_failedIndexUpdate_doesNotReapplyTheCommittedDeltas() throws Exception {
+        CatalogIndex failing = mock(CatalogIndex.class);
+        doThrow(new IllegalStateException("index broken")).when(failing).update(any(), any());
+        CatalogProperties properties = new CatalogProperties();
+        stockService = new StockServiceImpl(productRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                new CatalogIndexManager(productRepository, List.of(aggregates, failing), properties),
+                catalogCaches, nearCache, catalogVersion, changeLog, properties);
+        stockService.adjustStock("P-1", -3, false);
+
+        assertEquals(1, stockService.flush());
+
+        assertEquals(0, stockService.pendingProducts());
+        assertEquals(0, stockService.flush());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        assertEquals(20.0, aggregates.totalValue());
+    }
+
+    @Test
+    void flush_dropsCellsWithNothingPending() throws Exception {
+        stockService.adjustStock("P-1", -2, true);
+        // flushed with nothing pending, so the next adjustment starts again from the database
+        stockService.adjustStock("P-1", -1, false);
+
+        verify(productRepository, times(2)).findByPartNumber("P-1");
+        assertEquals(1, stockService.pendingProducts());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_concurrentWithAdjustments_writesEveryDeltaOnce() throws Exception {
+        AtomicLong written = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object row : invocation.<Collection<Object>>getArgument(1)) {
+                PreparedStatement ps = mock(PreparedStatement.class);
+                setter.setValues(ps, row);
+                ArgumentCaptor<Long> delta = ArgumentCaptor.forClass(Long.class);
+                verify(ps).setLong(eq(1), delta.capture());
+                written.addAndGet(delta.getValue());
+            }
+            return new int[0][];
+        });
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        List<Future<?>> adjusting = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            adjusting.add(workers.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    stockService.adjustStock("P-1", 1, false);
+                }
+            }));
+        }
+        while (adjusting.stream().anyMatch(future -> !future.isDone())) {
+            stockService.flush();
+        }
+        for (Future<?> future : adjusting) {
+            future.get();
+        }
+        workers.shutdown();
+        stockService.flush();
+
+        assertEquals(8000, written.get());
+        assertEquals(0, stockService.pendingProducts());
+    }
+
+    @Test
+    void adjustStock_rejectedAdjustment_leavesNothingPending() {
+        stockService.adjustStock("P-1", -2, false);
+        assertThrows(InsufficientStockException.class, () -> stockService.adjustStock("P-1", -4, false));
+
+        assertEquals(1, stockService.flush());
+        assertEquals(30.0, aggregates.totalValue());
+        assertEquals(0, stockService.flush());
+    }
+
+    @Test
+    void adjustStock_batch_reportsEachRow() {
+        List<StockAdjustmentResult> results = stockService.adjustStock(List.of(
+                new StockAdjustment("P-1", -2),
+                new StockAdjustment("P-404", 1),
+                new StockAdjustment("P-1", -10),
+                new StockAdjustment(" P-1 ", 1)
+        ), false);
+
+        assertEquals(List.of(Status.APPLIED, Status.NOT_FOUND, Status.INSUFFICIENT_STOCK, Status.APPLIED),
+                results.stream().map(StockAdjustmentResult::status).toList());
+        assertEquals(4, results.get(3).stock());
+        assertEquals(1, stockService.pendingProducts());
+    }
+}
@@ -0,0 +1,143 @@
+package com.phasezero.catalog.snapshot;
+
+import com.phasezero.catalog.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbcTemplate;
+    private CatalogSnapshotStore store;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("create table products (id bigint primary key, part_number varchar(100), "
+                + "part_name varchar(255), category varchar(100), price double precision, stock int, "
+                + "created_at timestamp(6))");
+        store = new CatalogSnapshotStore(jdbcTemplate);
+    }
+
+    private void insert(long id, String category, double price, int stock) {
+        jdbcTemplate.update("insert into products values (?, ?, ?, ?, ?, ?, ?)",
+                id, "P-" + id, "part " + id, category, price, stock,
+                LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000));
+    }
+
+    @Test
+    void write_thenRead_returnsEveryProductInIdOrder() throws Exception {
+        insert(7, "Filters", 12.5, 3);
+        insert(2, "Brakes", 40.0, 0);
+        insert(9, "Filters", 8.25, 11);
+        Path path = dir.resolve("catalog.snapshot");
+
+        CatalogSnapshotStore.Header header = store.write(path);
+
+        assertEquals(3, header.products());
+        assertEquals(9, header.maxId());
+        assertEquals(14, header.stockSum());
+        assertTrue(store.readHeader(path).matches(store.describeDatabase()));
+
+        List<Product> products = new ArrayList<>();
+        store.read(path, products::add);
+
+        assertEquals(List.of(2L, 7L, 9L), products.stream().map(Product::getId).toList());
+        Product first = products.get(0);
+        assertEquals("P-2", first.getPartNumber());
+        assertEquals("part 2", first.getPartName());
+        assertEquals("Brakes", first.getCategory());
+        assertEquals(40.0, first.getPrice());
+        assertEquals(0, first.getStock());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), first.getCreatedAt());
+        assertEquals("Filters", products.get(2).getCategory());
+        assertEquals(11, products.get(2).getStock());
+    }
+
+    @Test
+    void readHeader_afterDatabaseChange_doesNotMatch() throws Exception {
+        insert(1, "Filters", 10.0, 5);
+        Path path = dir.resolve("catalog.snapshot");
+        store.write(path);
+
+        jdbcTemplate.update("update products set stock = 4 where id = 1");
+
+        assertFalse(store.readHeader(path).matches(store.describeDatabase()));
+    }
+
+    @Test
+    void readHeader_afterNetZeroStockMove_doesNotMatch() throws Exception {
+        insert(1, "Filters", 10.0, 5);
+        insert(2, "Filters", 12.0, 5);
+        Path path = dir.resolve("catalog.snapshot");
+        store.write(path);
+
+        jdbcTemplate.update("update products set stock = 3 where id = 1");
+        jdbcTemplate.update("update products set stock = 7 where id = 2");
+
+        assertFalse(store.readHeader(path).matches(store.describeDatabase()));
+    }
+
+    @Test
+    void readHeader_afterPriceOrCategoryChange_doesNotMatch() throws Exception {
+        insert(1, "Filters", 10.0, 5);
+        insert(2, "Brakes", 12.0, 5);
+        Path path = dir.resolve("catalog.snapshot");
+        store.write(path);
+
+        jdbcTemplate.update("update products set price = 11.5 where id = 1");
+        assertFalse(store.readHeader(path).matches(store.describeDatabase()));
+
+        jdbcTemplate.update("update products set price = 10.0, category = 'Filters' where id = 1 or id = 2");
+        assertFalse(store.readHeader(path).matches(store.describeDatabase()));
+    }
+
+    @Test
+    void readHeader_missingFile_returnsNull() throws Exception {
+        assertNull(store.readHeader(dir.resolve("missing.snapshot")));
+    }
+
+    @Test
+    void read_corruptFile_throws() throws Exception {
+        for (long id = 1; id <= 20; id++) {
+            insert(id, "Filters", id, 1);
+        }
+        Path path = dir.resolve("catalog.snapshot");
+        store.write(path);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(path, bytes);
+
+        assertThrows(UncheckedIOException.class, () -> store.read(path, product -> { }));
+    }
+
+    @Test
+    void read_truncatedFile_throws() throws Exception {
+        insert(1, "Filters", 10.0, 5);
+        Path path = dir.resolve("catalog.snapshot");
+        store.write(path);
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(UncheckedIOException.class, () -> store.read(path, product -> { }));
+    }
+}
@@ -0,0 +1,89 @@
+package com.phasezero.catalog.snapshot;
+
+import com.phasezero.catalog.config.CatalogProperties;
+import com.phasezero.catalog.index.CatalogIndexManager;
+import com.phasezero.catalog.repository.ProductRepository;
+import com.phasezero.catalog.service.StockService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogWarmupTest {
+
+    @TempDir
+    Path dir;
+
+    private final CatalogSnapshotStore.Header header =
+            new CatalogSnapshotStore.Header(1, 1, 5, 5, 1000, 1, Instant.now());
+
+    private ApplicationReadyEvent readyEvent() {
+        ConfigurableApplicationContext context = mock(ConfigurableApplicationContext.class);
+        when(context.getApplicationStartup()).thenReturn(ApplicationStartup.DEFAULT);
+        ApplicationReadyEvent event = mock(ApplicationReadyEvent.class);
+        when(event.getApplicationContext()).thenReturn(context);
+        return event;
+    }
+
+    private CatalogProperties properties(boolean snapshotEnabled, Path path) {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getSnapshot().setEnabled(snapshotEnabled);
+        properties.getSnapshot().setPath(path.toString());
+        return properties;
+    }
+
+    @Test
+    void warmUp_writesWaitUntilTheSnapshotIsVerifiedAndLoaded() throws Exception {
+        Path path = Files.createFile(dir.resolve("catalog.snapshot"));
+        CatalogProperties properties = properties(true, path);
+        CatalogIndexManager indexManager = new CatalogIndexManager(mock(ProductRepository.class), List.of(), properties);
+        CatalogSnapshotStore store = mock(CatalogSnapshotStore.class);
+        when(store.readHeader(path)).thenReturn(header);
+
+        AtomicReference<CompletableFuture<Void>> writer = new AtomicReference<>();
+        when(store.describeDatabase()).thenAnswer(invocation -> {
+            // a stock flush arriving right after the check
+            writer.set(CompletableFuture.runAsync(() -> indexManager.runShared(() -> { })));
+            return header;
+        });
+        doAnswer(invocation -> {
+            assertThrows(TimeoutException.class, () -> writer.get().get(100, TimeUnit.MILLISECONDS));
+            return null;
+        }).when(store).read(eq(path), any());
+
+        new CatalogWarmup(indexManager, store, mock(StockService.class), properties).warmUp(readyEvent());
+
+        verify(store).read(eq(path), any());
+        writer.get().get(5, TimeUnit.SECONDS);
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void warmUp_snapshotsDisabled_deletesALeftoverSnapshot() throws Exception {
+        Path path = Files.createFile(dir.resolve("catalog.snapshot"));
+        CatalogProperties properties = properties(false, path);
+        CatalogIndexManager indexManager = mock(CatalogIndexManager.class);
+        CatalogSnapshotStore store = mock(CatalogSnapshotStore.class);
+
+        new CatalogWarmup(indexManager, store, mock(StockService.class), properties).warmUp(readyEvent());
+
+        assertFalse(Files.exists(path));
+        verify(indexManager).rebuild();
+        verifyNoInteractions(store);
+    }
+}